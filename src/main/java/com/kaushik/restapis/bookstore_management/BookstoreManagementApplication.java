@@ -2,10 +2,19 @@ package com.kaushik.restapis.bookstore_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Reactive Mongo is configured by ReactiveMongoConfig, only when bookstore.reactive.enabled
+@SpringBootApplication(exclude = {MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class,
+        MongoReactiveRepositoriesAutoConfiguration.class})
 @EnableMongoRepositories("com.kaushik.restapis.bookstore_management.repository")
+@EnableScheduling
+@EnableCaching
 public class BookstoreManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,69 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.repository.AuthorRepository;
+import com.kaushik.restapis.bookstore_management.repository.CategoryRepository;
+
+/**
+ * One-off migration: fills in the embedded author/category snapshots on books
+ * that were written before those fields existed. Runs before the web server
+ * opens its port (see StartupMigration) and is a no-op once every book has
+ * both snapshots.
+ */
+@Component
+public class BookReferenceBackfill extends StartupMigration {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    public BookReferenceBackfill() {
+        super(0);
+    }
+
+    @Override
+    protected void migrate() {
+        try {
+            long missing = mongoTemplate.count(Query.query(new Criteria().orOperator(
+                    Criteria.where("authorRef").exists(false),
+                    Criteria.where("categoryRef").exists(false))), Book.class);
+            if (missing == 0) {
+                return;
+            }
+
+            long updated = 0;
+            for (Author author : authorRepository.findAll()) {
+                Query query = Query.query(Criteria.where("author.id").is(author.getId())
+                        .and("authorRef").exists(false));
+                updated += mongoTemplate.updateMulti(query,
+                        Update.update("authorRef", new EntityRef(author.getId(), author.getName())),
+                        Book.class).getModifiedCount();
+            }
+            for (Category category : categoryRepository.findAll()) {
+                Query query = Query.query(Criteria.where("category.id").is(category.getId())
+                        .and("categoryRef").exists(false));
+                updated += mongoTemplate.updateMulti(query,
+                        Update.update("categoryRef", new EntityRef(category.getId(), category.getName())),
+                        Book.class).getModifiedCount();
+            }
+            System.out.println("BookReferenceBackfill: " + missing + " books missing snapshots, " + updated + " updates applied.");
+        } catch (Exception ex) {
+            System.err.println("BookReferenceBackfill: failed: " + ex.getMessage());
+        }
+    }
+}
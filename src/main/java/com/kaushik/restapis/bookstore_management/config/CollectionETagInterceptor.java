@@ -0,0 +1,58 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.kaushik.restapis.bookstore_management.service.counter.ChangeCounterService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for collection endpoints. Their ETag is the change counter
+ * of the collection they read, so a matching If-None-Match is answered with a
+ * 304 before the controller runs any query. Single resources use their
+ * document version instead (set by the controllers).
+ *
+ * The tag is weak: the same list can go out as JSON, CBOR or Smile, gzipped
+ * or not, and Tomcat refuses to compress a response carrying a strong ETag.
+ * Vary: Accept keeps caches from answering one format's request with
+ * another's body.
+ */
+@Component
+public class CollectionETagInterceptor implements HandlerInterceptor {
+
+    // Collection endpoint -> counter whose value fully determines its response
+    static final Map<String, String> COUNTED_PATHS = Map.of(
+            "/api/books", ChangeCounterService.BOOKS,
+            "/api/books/facets", ChangeCounterService.BOOKS,
+            "/api/authors", ChangeCounterService.AUTHORS,
+            "/api/authors/search", ChangeCounterService.AUTHORS,
+            "/api/authors/nationalities", ChangeCounterService.AUTHORS,
+            "/api/categories", ChangeCounterService.CATEGORIES,
+            "/api/categories/paginated", ChangeCounterService.CATEGORIES,
+            "/api/categories/search", ChangeCounterService.CATEGORIES);
+
+    @Autowired
+    private ChangeCounterService changeCounterService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String counter = COUNTED_PATHS.get(request.getRequestURI());
+        if (counter == null) {
+            return true;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String etag = "W/\"" + counter + "-" + changeCounterService.token(counter) + "\"";
+        // Sets the ETag header, and the 304 status when it matches If-None-Match
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
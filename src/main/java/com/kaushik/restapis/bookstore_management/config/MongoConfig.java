@@ -0,0 +1,48 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * Stores BigDecimal as Decimal128 instead of Spring Data's default string.
+ * Registered as a global conversion rather than per field so query values
+ * (price range criteria, keyset cursors) are converted too and compare
+ * numerically against the stored values.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(BigDecimalToDecimal128.INSTANCE, Decimal128ToBigDecimal.INSTANCE));
+    }
+
+    @WritingConverter
+    enum BigDecimalToDecimal128 implements Converter<BigDecimal, Decimal128> {
+        INSTANCE;
+
+        @Override
+        public Decimal128 convert(BigDecimal source) {
+            return new Decimal128(source);
+        }
+    }
+
+    // Documents not yet migrated still hold strings; those go through the default String -> BigDecimal conversion
+    @ReadingConverter
+    enum Decimal128ToBigDecimal implements Converter<Decimal128, BigDecimal> {
+        INSTANCE;
+
+        @Override
+        public BigDecimal convert(Decimal128 source) {
+            return source.bigDecimalValue();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Turns the services' {@code @Transactional} annotations into real MongoDB
+ * transactions, so a write and its change log entry commit or roll back
+ * together. Needs a replica set (or sharded cluster), hence opt-in; without
+ * this bean there is no transaction manager and the annotations do nothing.
+ *
+ * Only ChangeLogService listens inside the transaction. Caches, ETag
+ * counters, stats, the search/price/dedup/inventory indexes and the live
+ * stream use @TransactionalEventListener(fallbackExecution = true): they run
+ * after the commit, never see a rolled-back change, and run immediately
+ * when there is no transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.changes.transactional", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -0,0 +1,75 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration: rewrites book prices stored as strings (the old default
+ * BigDecimal mapping) as Decimal128, in bulks of 1000. Runs before the web
+ * server opens its port (see StartupMigration) and is a no-op once no string
+ * prices are left.
+ */
+@Component
+public class PriceDecimalMigration extends StartupMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public PriceDecimalMigration() {
+        super(2);
+    }
+
+    @Override
+    protected void migrate() {
+        Query query = Query.query(Criteria.where("price").type(JsonSchemaObject.Type.STRING));
+        query.fields().include("price");
+        long converted = 0;
+        int skipped = 0;
+        try (Stream<Document> books = mongoTemplate.stream(query, Document.class, "books")) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (Document book : (Iterable<Document>) books::iterator) {
+                BigDecimal price;
+                try {
+                    price = new BigDecimal(book.getString("price").trim());
+                } catch (NumberFormatException ex) {
+                    skipped++;
+                    continue;
+                }
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "books");
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(book.get("_id"))),
+                        Update.update("price", new Decimal128(price)));
+                if (++pending == BATCH_SIZE) {
+                    converted += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) {
+                converted += bulk.execute().getModifiedCount();
+            }
+        } catch (Exception ex) {
+            System.err.println("PriceDecimalMigration: failed: " + ex.getMessage());
+            return;
+        }
+        if (converted > 0 || skipped > 0) {
+            System.out.println("PriceDecimalMigration: converted " + converted + " prices to Decimal128"
+                    + (skipped > 0 ? ", " + skipped + " unparseable prices left as they are" : "") + ".");
+        }
+    }
+}
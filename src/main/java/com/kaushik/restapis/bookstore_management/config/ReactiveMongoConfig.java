@@ -0,0 +1,45 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+
+/**
+ * The reactive MongoDB client, template and repositories behind the
+ * /api/reactive endpoints. Boot's reactive Mongo auto-configuration is
+ * excluded on the application class, so without
+ * bookstore.reactive.enabled=true there is no second connection pool.
+ *
+ * Built from the same client settings and converter as the blocking
+ * template, so both see the same spring.data.mongodb.* properties and the
+ * Decimal128 conversions from MongoConfig.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+@EnableReactiveMongoRepositories("com.kaushik.restapis.bookstore_management.repository.reactive")
+public class ReactiveMongoConfig {
+
+    @Bean
+    public MongoClient reactiveStreamsMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+            MongoClientSettings settings) {
+        return new ReactiveMongoClientFactory(customizers.orderedStream().toList()).createMongoClient(settings);
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient client, MongoProperties properties,
+            MappingMongoConverter converter) {
+        return new ReactiveMongoTemplate(
+                new SimpleReactiveMongoDatabaseFactory(client, properties.getMongoClientDatabase()), converter);
+    }
+}
@@ -0,0 +1,47 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Base for one-off data migrations that must finish before the app serves
+ * requests. An ApplicationRunner runs only after the embedded server has
+ * opened its port, so these run as lifecycle beans in a phase before the web
+ * server's (DEFAULT_PHASE - 1024): the port opens once every migration has
+ * returned. Lower order runs first.
+ */
+public abstract class StartupMigration implements SmartLifecycle {
+
+    // Well below the web server start (DEFAULT_PHASE - 1024) and graceful shutdown (DEFAULT_PHASE - 2048) phases
+    private static final int BASE_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final int order;
+
+    private volatile boolean running;
+
+    protected StartupMigration(int order) {
+        this.order = order;
+    }
+
+    protected abstract void migrate();
+
+    @Override
+    public void start() {
+        migrate();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return BASE_PHASE + order;
+    }
+}
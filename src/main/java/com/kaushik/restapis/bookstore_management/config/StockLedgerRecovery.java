@@ -0,0 +1,29 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.kaushik.restapis.bookstore_management.service.inventory.InventoryService;
+
+/**
+ * Puts confirmed sales that had not reached the stored stock counts before a
+ * crash back into the reservation engine (see InventoryService.recover). Runs
+ * before the web server opens its port (see StartupMigration), so no hold is
+ * granted against stock that is already sold. A failure stops startup rather
+ * than serving reservations without those sales.
+ */
+@Component
+public class StockLedgerRecovery extends StartupMigration {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    public StockLedgerRecovery() {
+        super(3);
+    }
+
+    @Override
+    protected void migrate() {
+        inventoryService.recover();
+    }
+}
@@ -0,0 +1,45 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+
+/**
+ * One-off migration: sets version 0 on documents written before the entities
+ * had a {@code @Version} field. Without it Spring Data would treat them as
+ * new on the next save and try to insert them again. Runs before the web
+ * server opens its port (see StartupMigration).
+ */
+@Component
+public class VersionBackfill extends StartupMigration {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public VersionBackfill() {
+        super(1);
+    }
+
+    @Override
+    protected void migrate() {
+        try {
+            long updated = 0;
+            for (Class<?> type : new Class<?>[]{Book.class, Author.class, Category.class}) {
+                updated += mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)),
+                        Update.update("version", 0L), type).getModifiedCount();
+            }
+            if (updated > 0) {
+                System.out.println("VersionBackfill: initialised version on " + updated + " documents.");
+            }
+        } catch (Exception ex) {
+            System.err.println("VersionBackfill: failed: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.kaushik.restapis.bookstore_management.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.kaushik.restapis.bookstore_management.service.concurrent.BlockingTasks;
+
+/**
+ * Thread model for blocking I/O. With bookstore.virtual-threads.enabled on a
+ * Java 21+ runtime, Tomcat handles each request on its own virtual thread and
+ * the fan-out executor starts one virtual thread per task, so a request
+ * waiting on Mongo or the embedding provider no longer holds a platform
+ * thread. Otherwise, or on an older runtime, requests stay on Tomcat's pool
+ * and fan-out runs on a small fixed pool.
+ *
+ * The virtual thread factory is looked up reflectively so the default build
+ * keeps targeting Java 17; build with -Pjdk21 to compile against 21.
+ *
+ * Known remaining pinning: @Cacheable(sync = true) loads run inside
+ * Caffeine's map lock, so a cache miss pins its carrier for one Mongo read.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    @Value("${bookstore.virtual-threads.enabled:false}")
+    private boolean enabled;
+
+    @Value("${bookstore.virtual-threads.fallback-pool-size:16}")
+    private int fallbackPoolSize;
+
+    // Runs independent blocking calls of one request side by side (see BookService, AiController)
+    @Bean(destroyMethod = "shutdown")
+    public BlockingTasks blockingTasks() {
+        ExecutorService virtual = enabled ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtual != null) {
+            System.out.println("VirtualThreadConfig: blocking fan-out on virtual threads");
+            return new BlockingTasks(virtual);
+        }
+        AtomicInteger count = new AtomicInteger();
+        return new BlockingTasks(Executors.newFixedThreadPool(fallbackPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "blocking-io-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // One virtual thread per request instead of Tomcat's worker pool (server.tomcat.threads.max no longer applies)
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.virtual-threads.enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestHandling() {
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        if (virtual == null) {
+            System.err.println("VirtualThreadConfig: virtual threads need Java 21+, running on "
+                    + System.getProperty("java.version") + " with platform threads");
+            return protocolHandler -> { };
+        }
+        System.out.println("VirtualThreadConfig: request handling on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(virtual);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() when the runtime has it, else null
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
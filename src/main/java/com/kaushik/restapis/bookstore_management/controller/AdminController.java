@@ -7,18 +7,31 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.kaushik.restapis.bookstore_management.dto.DuplicateCandidateDTO;
 import com.kaushik.restapis.bookstore_management.entity.Author;
 import com.kaushik.restapis.bookstore_management.entity.Book;
 import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
 import com.kaushik.restapis.bookstore_management.repository.AuthorRepository;
 import com.kaushik.restapis.bookstore_management.repository.BookRepository;
 import com.kaushik.restapis.bookstore_management.repository.CategoryRepository;
+import com.kaushik.restapis.bookstore_management.service.cache.LookupCaches;
+import com.kaushik.restapis.bookstore_management.service.dedup.DuplicateDetectionService;
+import com.kaushik.restapis.bookstore_management.service.live.CatalogStreamService;
+import com.kaushik.restapis.bookstore_management.service.search.AutocompleteService;
+import com.kaushik.restapis.bookstore_management.service.search.BookSearchIndex;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -34,6 +47,24 @@ public class AdminController {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private LookupCaches lookupCaches;
+
+    @Autowired
+    private CatalogStreamService catalogStreamService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Insert 10 sample books (non-destructive: will not duplicate by ISBN)
     @PostMapping("/seed-ten-books")
     public ResponseEntity<Map<String, Object>> seedTenBooks() {
@@ -64,6 +95,7 @@ public class AdminController {
             if (author == null) {
                 author = new Author(authorName, "Auto-seeded author", "Unknown");
                 author = authorRepository.save(author);
+                eventPublisher.publishEvent(AuthorChangedEvent.created(author));
             }
 
             // find or create category by name (case-insensitive)
@@ -71,6 +103,7 @@ public class AdminController {
             if (category == null) {
                 category = new Category(categoryName, categoryName + " books");
                 category = categoryRepository.save(category);
+                eventPublisher.publishEvent(CategoryChangedEvent.created(category));
             }
 
             String isbn = "978-1-" + (isbnCounter++);
@@ -84,7 +117,9 @@ public class AdminController {
             book.setPages(180);
             book.setLanguage("English");
 
-            added.add(bookRepository.save(book));
+            Book saved = bookRepository.save(book);
+            eventPublisher.publishEvent(BookChangedEvent.created(saved));
+            added.add(saved);
         }
 
         Map<String, Object> resp = new HashMap<>();
@@ -93,4 +128,70 @@ public class AdminController {
 
         return ResponseEntity.ok(resp);
     }
+
+    // List near-duplicate book pairs found by the MinHash/LSH index
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateCandidateDTO>> getDuplicates(
+            @RequestParam(defaultValue = "0.8") double threshold) {
+        return ResponseEntity.ok(duplicateDetectionService.findDuplicates(threshold));
+    }
+
+    // Near-duplicates of a single book
+    @GetMapping("/duplicates/{bookId}")
+    public ResponseEntity<List<DuplicateCandidateDTO>> getDuplicatesOf(@PathVariable String bookId,
+            @RequestParam(defaultValue = "0.8") double threshold) {
+        return ResponseEntity.ok(duplicateDetectionService.findDuplicatesOf(bookId, threshold));
+    }
+
+    // Rebuild the duplicate index now instead of waiting for the scheduled job
+    @PostMapping("/duplicates/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildDuplicateIndex() {
+        duplicateDetectionService.rebuild();
+        return ResponseEntity.ok(duplicateDetectionService.getStatus());
+    }
+
+    // Size and freshness of the in-memory book search index
+    @GetMapping("/search-index")
+    public ResponseEntity<Map<String, Object>> getSearchIndexStatus() {
+        return ResponseEntity.ok(bookSearchIndex.getStatus());
+    }
+
+    // Rebuild the search index now instead of waiting for the scheduled job
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        bookSearchIndex.rebuild();
+        return ResponseEntity.ok(bookSearchIndex.getStatus());
+    }
+
+    // Autocomplete index status
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Map<String, Object>> getAutocompleteStatus() {
+        return ResponseEntity.ok(autocompleteService.getStatus());
+    }
+
+    // Rebuild the autocomplete tries now instead of waiting for the scheduled job
+    @PostMapping("/autocomplete/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildAutocomplete() {
+        autocompleteService.rebuild();
+        return ResponseEntity.ok(autocompleteService.getStatus());
+    }
+
+    // Hit/miss statistics of the lookup caches
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(lookupCaches.getStats());
+    }
+
+    // Drop every cached lookup (e.g. after editing documents directly in Mongo)
+    @PostMapping("/caches/clear")
+    public ResponseEntity<Map<String, Object>> clearCaches() {
+        lookupCaches.clearAll();
+        return ResponseEntity.ok(lookupCaches.getStats());
+    }
+
+    // Open event streams and how far behind they are
+    @GetMapping("/streams")
+    public ResponseEntity<Map<String, Object>> getStreamStats() {
+        return ResponseEntity.ok(catalogStreamService.getStats());
+    }
 }
@@ -1,15 +1,16 @@
 package com.kaushik.restapis.bookstore_management.controller;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,10 +20,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.kaushik.restapis.bookstore_management.entity.Book;
 import com.kaushik.restapis.bookstore_management.repository.BookRepository;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookEmbedding;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookSummary;
 import com.kaushik.restapis.bookstore_management.service.BookService;
 import com.kaushik.restapis.bookstore_management.service.ai.EmbeddingService;
+import com.kaushik.restapis.bookstore_management.service.ai.SimilarityRanker;
+import com.kaushik.restapis.bookstore_management.service.concurrent.BlockingTasks;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -38,27 +42,55 @@ public class AiController {
     @Autowired
     private BookService bookService;
 
-    // Recompute embeddings for all books (synchronous PoC; careful on large DBs)
+    @Autowired
+    private BlockingTasks blockingTasks;
+
+    @Value("${bookstore.ai.embedding-concurrency:4}")
+    private int embeddingConcurrency;
+
+    // Recompute embeddings for all books, a few provider calls at a time (careful on large DBs)
     @PostMapping("/embeddings/recompute")
     public ResponseEntity<Map<String, Object>> recomputeAllEmbeddings(@RequestParam(defaultValue = "false") boolean force) {
         try {
-            List<Book> books = bookRepository.findAll();
+            // Only books still missing an embedding are loaded unless a full recompute is forced
+            List<BookSummary> books = force
+                    ? bookRepository.findAllBy(BookSummary.class)
+                    : bookRepository.findWithoutEmbedding(BookSummary.class);
+            // Up to embeddingConcurrency provider calls in flight; the first failure aborts the rest
+            Semaphore permits = new Semaphore(embeddingConcurrency);
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            AtomicBoolean failed = new AtomicBoolean();
+            for (BookSummary b : books) {
+                permits.acquire();
+                if (failed.get()) {
+                    break;
+                }
+                tasks.add(blockingTasks.submit(() -> {
+                    try {
+                        List<Double> emb = embeddingService.embedText(buildEmbeddingText(b));
+                        bookService.updateEmbedding(b.getId(), emb);
+                        return null;
+                    } catch (Exception e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
             int updated = 0;
-            for (Book b : books) {
-                if (!force && b.getEmbedding() != null && b.getEmbeddingUpdatedAt() != null) {
-                    continue;
+            try {
+                for (CompletableFuture<Void> task : tasks) {
+                    BlockingTasks.join(task);
+                    updated++;
                 }
-                String text = buildEmbeddingText(b);
-                List<Double> emb = embeddingService.embedText(text);
-                b.setEmbedding(emb);
-                b.setEmbeddingUpdatedAt(LocalDateTime.now());
-                bookRepository.save(b);
-                updated++;
+            } finally {
+                tasks.forEach(task -> task.cancel(false));
             }
 
             Map<String, Object> resp = new HashMap<>();
             resp.put("updated", updated);
-            resp.put("total", books.size());
+            resp.put("total", bookRepository.count());
             resp.put("message", "Successfully computed embeddings for " + updated + " books");
             return ResponseEntity.ok(resp);
         } catch (IllegalStateException e) {
@@ -85,12 +117,10 @@ public class AiController {
     // Compute embedding for a single book
     @PostMapping("/embeddings/book/{bookId}")
     public ResponseEntity<Map<String, Object>> computeEmbeddingForBook(@PathVariable String bookId) throws IOException, InterruptedException {
-        Book b = bookService.getBookEntityById(bookId);
+        BookSummary b = bookService.getBookSummaryById(bookId);
         String text = buildEmbeddingText(b);
         List<Double> emb = embeddingService.embedText(text);
-        b.setEmbedding(emb);
-        b.setEmbeddingUpdatedAt(LocalDateTime.now());
-        bookRepository.save(b);
+        bookService.updateEmbedding(bookId, emb);
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("bookId", bookId);
@@ -101,52 +131,28 @@ public class AiController {
     // Recommend similar books by embedding cosine similarity
     @GetMapping("/recommendations/book/{bookId}")
     public ResponseEntity<List<Map<String, Object>>> recommendByBook(@PathVariable String bookId, @RequestParam(defaultValue = "6") int size) {
-        Book b = bookService.getBookEntityById(bookId);
+        BookEmbedding b = bookRepository.findProjectedById(bookId, BookEmbedding.class)
+                .orElseThrow(() -> new RuntimeException("Book not found with id: " + bookId));
         if (b.getEmbedding() == null) {
             return ResponseEntity.badRequest().body(List.of(Map.of("error", "embedding_missing")));
         }
 
-        List<Book> candidates = bookRepository.findAll().stream()
-                .filter(x -> x.getEmbedding() != null && !x.getId().equals(bookId))
-                .collect(Collectors.toList());
-
-        List<Map<String, Object>> scored = new ArrayList<>();
-        for (Book c : candidates) {
-            double score = cosineSimilarity(b.getEmbedding(), c.getEmbedding());
-            Map<String, Object> m = new HashMap<>();
-            m.put("bookId", c.getId());
-            m.put("score", score);
-            m.put("title", c.getTitle());
-            scored.add(m);
-        }
-
-        scored.sort(Comparator.comparingDouble(m -> -((Number) m.get("score")).doubleValue()));
-        List<Map<String, Object>> top = scored.stream().limit(size).collect(Collectors.toList());
+        List<Map<String, Object>> top = SimilarityRanker.top(b.getEmbedding(),
+                bookRepository.findWithEmbedding(BookEmbedding.class), bookId, size);
         return ResponseEntity.ok(top);
     }
 
     // Simple semantic search: embed query and score all books
     @GetMapping("/semantic-search")
     public ResponseEntity<List<Map<String, Object>>> semanticSearch(@RequestParam String q, @RequestParam(defaultValue = "10") int size) throws IOException, InterruptedException {
+        // Candidates load while the query is embedded
+        CompletableFuture<List<BookEmbedding>> candidates = blockingTasks.submit(() -> bookRepository.findWithEmbedding(BookEmbedding.class));
         List<Double> qEmb = embeddingService.embedText(q);
-        List<Book> candidates = bookRepository.findAll().stream().filter(x -> x.getEmbedding() != null).collect(Collectors.toList());
-
-        List<Map<String, Object>> scored = new ArrayList<>();
-        for (Book c : candidates) {
-            double score = cosineSimilarity(qEmb, c.getEmbedding());
-            Map<String, Object> m = new HashMap<>();
-            m.put("bookId", c.getId());
-            m.put("score", score);
-            m.put("title", c.getTitle());
-            scored.add(m);
-        }
-
-        scored.sort(Comparator.comparingDouble(m -> -((Number) m.get("score")).doubleValue()));
-        List<Map<String, Object>> top = scored.stream().limit(size).collect(Collectors.toList());
+        List<Map<String, Object>> top = SimilarityRanker.top(qEmb, BlockingTasks.joinUnchecked(candidates), null, size);
         return ResponseEntity.ok(top);
     }
 
-    private String buildEmbeddingText(Book b) {
+    private String buildEmbeddingText(BookSummary b) {
         StringBuilder sb = new StringBuilder();
         if (b.getTitle() != null) {
             sb.append(b.getTitle()).append(". ");
@@ -154,32 +160,16 @@ public class AiController {
         if (b.getDescription() != null) {
             sb.append(b.getDescription()).append(". ");
         }
-        if (b.getAuthor() != null && b.getAuthor().getName() != null) {
-            sb.append("Author: ").append(b.getAuthor().getName()).append(". ");
+        String authorName = b.getAuthorRef() != null ? b.getAuthorRef().getName()
+                : b.getAuthor() != null ? b.getAuthor().getName() : null;
+        if (authorName != null) {
+            sb.append("Author: ").append(authorName).append(". ");
         }
-        if (b.getCategory() != null && b.getCategory().getName() != null) {
-            sb.append("Category: ").append(b.getCategory().getName()).append(". ");
+        String categoryName = b.getCategoryRef() != null ? b.getCategoryRef().getName()
+                : b.getCategory() != null ? b.getCategory().getName() : null;
+        if (categoryName != null) {
+            sb.append("Category: ").append(categoryName).append(". ");
         }
         return sb.toString();
     }
-
-    private double cosineSimilarity(List<Double> a, List<Double> b) {
-        if (a == null || b == null || a.size() != b.size()) {
-            return 0.0;
-        }
-        double dot = 0.0;
-        double na = 0.0;
-        double nb = 0.0;
-        for (int i = 0; i < a.size(); i++) {
-            double va  = a.get(i);
-            double vb = b.get(i);
-            dot += va  * vb;
-            na += va  * va;
-            nb += vb * vb;
-        }
-        if (na == 0 || nb == 0) {
-            return 0.0;
-        }
-        return dot / (Math.sqrt(na) * Math.sqrt(nb));
-    }
 }
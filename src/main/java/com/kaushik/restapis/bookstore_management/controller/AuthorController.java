@@ -8,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -21,8 +22,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.kaushik.restapis.bookstore_management.dto.BatchRequestDTO;
+import com.kaushik.restapis.bookstore_management.dto.BatchResultDTO;
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
 import com.kaushik.restapis.bookstore_management.entity.Author;
 import com.kaushik.restapis.bookstore_management.service.AuthorService;
+import com.kaushik.restapis.bookstore_management.service.pagination.KeysetPaginator;
 
 import jakarta.validation.Valid;
 
@@ -49,7 +54,18 @@ public class AuthorController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor) {
+
+        // Cursor mode: pass an empty cursor for the first page, then the X-Next-Cursor header value
+        if (cursor != null) {
+            KeysetPage<Author> authorPage = authorService.getAuthorsPage(search, nationality, cursor, size, sortBy, sortDir);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (authorPage.getNextCursor() != null) {
+                response.header(KeysetPaginator.NEXT_CURSOR_HEADER, authorPage.getNextCursor());
+            }
+            return response.body(authorPage.getItems());
+        }
 
         if (nationality != null && !nationality.trim().isEmpty()) {
             List<Author> authors = authorService.getAuthorsByNationality(nationality);
@@ -79,11 +95,17 @@ public class AuthorController {
         }
     }
 
+    // Get many authors by id in one call; items follow the request order, null where not found
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<Author>> getAuthorsBatch(@Valid @RequestBody BatchRequestDTO request) {
+        return ResponseEntity.ok(authorService.getAuthorsBatch(request.getIds()));
+    }
+
     // Get author by id
     @GetMapping("/{id}")
     public ResponseEntity<Author> getAuthorById(@PathVariable String id) {
         Author author = authorService.getAuthorById(id);
-        return ResponseEntity.ok(author);
+        return ResponseEntity.ok().eTag(author.getId() + "-" + author.getVersion()).varyBy(HttpHeaders.ACCEPT).body(author);
     }
 
     // Update author
@@ -1,6 +1,9 @@
 package com.kaushik.restapis.bookstore_management.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -9,7 +12,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,10 +27,24 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.kaushik.restapis.bookstore_management.dto.BatchRequestDTO;
+import com.kaushik.restapis.bookstore_management.dto.BatchResultDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookBulkUpdateDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookBulkUpdateReportDTO;
 import com.kaushik.restapis.bookstore_management.dto.BookCreateDTO;
 import com.kaushik.restapis.bookstore_management.dto.BookDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookFacetsDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookImportReportDTO;
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
+import com.kaushik.restapis.bookstore_management.dto.StockLevelDTO;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookFields;
 import com.kaushik.restapis.bookstore_management.service.BookService;
+import com.kaushik.restapis.bookstore_management.service.bulk.BookBulkUpdateService;
+import com.kaushik.restapis.bookstore_management.service.export.BookExportService;
+import com.kaushik.restapis.bookstore_management.service.importer.BookImportService;
+import com.kaushik.restapis.bookstore_management.service.pagination.KeysetPaginator;
 
 import jakarta.validation.Valid;
 
@@ -37,6 +56,15 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookBulkUpdateService bookBulkUpdateService;
+
     // Create a new book
     @PostMapping
     public ResponseEntity<BookDTO> createBook(@Valid @RequestBody BookCreateDTO bookCreateDTO) {
@@ -55,7 +83,15 @@ public class BookController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor) {
+
+        // Cursor mode: pass an empty cursor for the first page, then the X-Next-Cursor header value
+        if (cursor != null) {
+            KeysetPage<BookDTO> bookPage = bookService.getBooksPage(title, authorId, categoryId, minPrice, maxPrice,
+                    cursor, size, sortBy, sortDir);
+            return withNextCursor(bookPage);
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -75,18 +111,90 @@ public class BookController {
         }
     }
 
+    // Same listing with ?fields=title,price: only those fields are read from Mongo and returned
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllBooksFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String authorId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor) {
+        BookFields selection = BookFields.parse(fields);
+        if (cursor != null) {
+            return withNextCursor(bookService.getBooksPage(title, authorId, categoryId, minPrice, maxPrice,
+                    cursor, size, sortBy, sortDir, selection));
+        }
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = page >= 0 && size > 0 ? PageRequest.of(page, size, sort) : Pageable.unpaged();
+        return ResponseEntity.ok(bookService.searchBooks(title, authorId, categoryId, minPrice, maxPrice,
+                pageable, selection));
+    }
+
+    // Export the whole catalog as NDJSON or CSV, streamed while it is read
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "ndjson") String format) {
+        BookExportService.Format exportFormat = BookExportService.Format.from(format);
+        StreamingResponseBody body = out -> bookExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Bulk import books from an NDJSON or CSV request body; returns a per-row error report
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", "text/plain",
+        MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<BookImportReportDTO> importBooks(@RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        BookImportReportDTO report = bookImportService.importBooks(BookExportService.Format.from(format), body);
+        return ResponseEntity.ok(report);
+    }
+
+    // Change price or stock of every book matching a filter; dryRun reports what would change
+    @PostMapping("/bulk-update")
+    public ResponseEntity<BookBulkUpdateReportDTO> bulkUpdateBooks(@RequestBody BookBulkUpdateDTO request) {
+        BookBulkUpdateReportDTO report = bookBulkUpdateService.update(request);
+        return ResponseEntity.ok(report);
+    }
+
+    // Get many books by ids or ISBNs in one call; items follow the request order, null where not found
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<BookDTO>> getBooksBatch(@Valid @RequestBody BatchRequestDTO request) {
+        return ResponseEntity.ok(bookService.getBooksBatch(request.getIds(), request.getIsbns()));
+    }
+
     // Get book by id
     @GetMapping("/{id}")
     public ResponseEntity<BookDTO> getBookById(@PathVariable String id) {
         BookDTO book = bookService.getBookById(id);
-        return ResponseEntity.ok(book);
+        // A matching If-None-Match gets a 304 without the body being written
+        return ResponseEntity.ok().eTag(book.getId() + "-" + book.getVersion()).varyBy(HttpHeaders.ACCEPT).body(book);
+    }
+
+    // Get book by id with ?fields=title,price; the ETag is only set when version is among the fields
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getBookByIdFields(@PathVariable String id, @RequestParam String fields) {
+        BookFields selection = BookFields.parse(fields);
+        Map<String, Object> book = bookService.getBookById(id, selection);
+        if (book.get("version") == null) {
+            return ResponseEntity.ok(book);
+        }
+        return ResponseEntity.ok().eTag(id + "-" + book.get("version") + "-" + selection).varyBy(HttpHeaders.ACCEPT).body(book);
     }
 
     // Get book by ISBN
     @GetMapping("/isbn/{isbn}")
     public ResponseEntity<BookDTO> getBookByIsbn(@PathVariable String isbn) {
         BookDTO book = bookService.getBookByIsbn(isbn);
-        return ResponseEntity.ok(book);
+        return ResponseEntity.ok().eTag(book.getId() + "-" + book.getVersion()).varyBy(HttpHeaders.ACCEPT).body(book);
     }
 
     // Update book
@@ -104,10 +212,18 @@ public class BookController {
         return ResponseEntity.noContent().build();
     }
 
-    // Search books by title
+    // Search books by keyword or substring across title, description, author and category, best matches first
     @GetMapping("/search")
-    public ResponseEntity<List<BookDTO>> searchBooks(@RequestParam String title) {
-        List<BookDTO> books = bookService.searchBooksByTitle(title);
+    public ResponseEntity<List<BookDTO>> searchBooks(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String title,
+            @RequestParam(defaultValue = "20") int limit) {
+        // title= is the original parameter name and is still accepted
+        String text = q != null ? q : title;
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required (q)");
+        }
+        List<BookDTO> books = bookService.searchBooksRanked(text, Math.min(Math.max(limit, 1), 200));
         return ResponseEntity.ok(books);
     }
 
@@ -134,6 +250,29 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    // Count books in a price range without loading them; either bound may be omitted
+    @GetMapping("/price-range/count")
+    public ResponseEntity<Map<String, Object>> countBooksByPriceRange(
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("minPrice", minPrice);
+        result.put("maxPrice", maxPrice);
+        result.put("count", bookService.countBooksByPriceRange(minPrice, maxPrice));
+        return ResponseEntity.ok(result);
+    }
+
+    // Category, language, year and price-bucket counts for the same filters as GET /api/books
+    @GetMapping("/facets")
+    public ResponseEntity<BookFacetsDTO> getBookFacets(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String authorId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        return ResponseEntity.ok(bookService.getBookFacets(title, authorId, categoryId, minPrice, maxPrice));
+    }
+
     // Get books with low stock
     @GetMapping("/low-stock")
     public ResponseEntity<List<BookDTO>> getBooksWithLowStock(@RequestParam Integer threshold) {
@@ -149,4 +288,26 @@ public class BookController {
         BookDTO updatedBook = bookService.updateBookStock(id, newStock);
         return ResponseEntity.ok(updatedBook);
     }
+
+    // Add stock, e.g. {"quantity": 5}; returns the new level
+    @PostMapping("/{id}/stock/increment")
+    public ResponseEntity<StockLevelDTO> incrementStock(@PathVariable String id,
+            @RequestBody Map<String, Integer> stockData) {
+        return ResponseEntity.ok(bookService.incrementStock(id, stockData.get("quantity")));
+    }
+
+    // Take stock if available, e.g. {"quantity": 1}; 409 when there is not enough
+    @PostMapping("/{id}/stock/decrement")
+    public ResponseEntity<StockLevelDTO> decrementStock(@PathVariable String id,
+            @RequestBody Map<String, Integer> stockData) {
+        return ResponseEntity.ok(bookService.decrementStock(id, stockData.get("quantity")));
+    }
+
+    private <T> ResponseEntity<List<T>> withNextCursor(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetPaginator.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
@@ -0,0 +1,36 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kaushik.restapis.bookstore_management.service.live.CatalogStreamService;
+
+@RestController
+@RequestMapping("/api/books")
+@CrossOrigin(origins = "*")
+public class CatalogStreamController {
+
+    @Autowired
+    private CatalogStreamService catalogStreamService;
+
+    // Live book changes as server-sent events, optionally limited to one author and/or category
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam(required = false) String authorId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) Integer threshold) {
+        SseEmitter emitter = catalogStreamService.subscribe(authorId, categoryId, threshold);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+}
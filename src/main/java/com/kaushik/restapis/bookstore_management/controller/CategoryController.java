@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,8 +18,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.kaushik.restapis.bookstore_management.dto.BatchRequestDTO;
+import com.kaushik.restapis.bookstore_management.dto.BatchResultDTO;
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
 import com.kaushik.restapis.bookstore_management.entity.Category;
 import com.kaushik.restapis.bookstore_management.service.CategoryService;
+import com.kaushik.restapis.bookstore_management.service.pagination.KeysetPaginator;
 
 import jakarta.validation.Valid;
 
@@ -29,9 +34,21 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
-    // Get all categories
+    // Get all categories, or one page at a time when a cursor is given
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        if (cursor != null) {
+            KeysetPage<Category> categoryPage = categoryService.getCategoriesPage(cursor, size, sortBy, sortDir);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (categoryPage.getNextCursor() != null) {
+                response.header(KeysetPaginator.NEXT_CURSOR_HEADER, categoryPage.getNextCursor());
+            }
+            return response.body(categoryPage.getItems());
+        }
         List<Category> categories = categoryService.getAllCategories();
         return ResponseEntity.ok(categories);
     }
@@ -43,11 +60,17 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    // Get many categories by id in one call; items follow the request order, null where not found
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<Category>> getCategoriesBatch(@Valid @RequestBody BatchRequestDTO request) {
+        return ResponseEntity.ok(categoryService.getCategoriesBatch(request.getIds()));
+    }
+
     // Get category by ID
     @GetMapping("/{id}")
     public ResponseEntity<Category> getCategoryById(@PathVariable String id) {
         Category category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+        return ResponseEntity.ok().eTag(category.getId() + "-" + category.getVersion()).varyBy(HttpHeaders.ACCEPT).body(category);
     }
 
     // Create new category
@@ -0,0 +1,42 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.dto.ChangeFeedDTO;
+import com.kaushik.restapis.bookstore_management.service.changes.ChangeLogService;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    // Book, author and category changes after the given token, oldest first
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+
+    // Token of the latest change; take it before a full read, then follow the feed from it
+    @GetMapping("/head")
+    public ResponseEntity<Map<String, String>> getHead() {
+        return ResponseEntity.ok(Map.of("token", changeLogService.getHeadToken()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.dto.ReservationDTO;
+import com.kaushik.restapis.bookstore_management.service.inventory.InventoryService;
+
+@RestController
+@RequestMapping("/api/inventory")
+@CrossOrigin(origins = "*")
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    // Hold stock for a checkout, e.g. {"bookId": "...", "quantity": 1}
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationDTO> reserve(@RequestBody Map<String, Object> request) {
+        Object bookId = request.get("bookId");
+        Object quantity = request.get("quantity");
+        if (!(bookId instanceof String) || !(quantity instanceof Integer)) {
+            throw new IllegalArgumentException("bookId (string) and quantity (integer) are required");
+        }
+        ReservationDTO reservation = inventoryService.reserve((String) bookId, (Integer) quantity);
+        return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+    }
+
+    // Complete the sale for a held reservation
+    @PostMapping("/reservations/{id}/confirm")
+    public ResponseEntity<ReservationDTO> confirm(@PathVariable String id) {
+        return ResponseEntity.ok(inventoryService.confirm(id));
+    }
+
+    // Cancel a held reservation
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<Void> release(@PathVariable String id) {
+        inventoryService.release(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Available, held and not-yet-written units of one book
+    @GetMapping("/books/{bookId}")
+    public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable String bookId) {
+        return ResponseEntity.ok(inventoryService.getAvailability(bookId));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(inventoryService.getStats());
+    }
+}
@@ -0,0 +1,44 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.service.reactive.ReactiveCatalogService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the AI read endpoints (bookstore.reactive.enabled).
+ * No thread waits on the embedding provider: the query is embedded with the
+ * async HTTP client while the candidate embeddings stream in from Mongo.
+ */
+@RestController
+@RequestMapping("/api/reactive/ai")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveAiController {
+
+    @Autowired
+    private ReactiveCatalogService catalogService;
+
+    // Recommend similar books by embedding cosine similarity
+    @GetMapping("/recommendations/book/{bookId}")
+    public Mono<List<Map<String, Object>>> recommendByBook(@PathVariable String bookId, @RequestParam(defaultValue = "6") int size) {
+        return catalogService.recommendByBook(bookId, size);
+    }
+
+    // Embed the query and score all books
+    @GetMapping("/semantic-search")
+    public Mono<List<Map<String, Object>>> semanticSearch(@RequestParam String q, @RequestParam(defaultValue = "10") int size) {
+        return catalogService.semanticSearch(q, size);
+    }
+}
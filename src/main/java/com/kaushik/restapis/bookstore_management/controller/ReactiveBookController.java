@@ -0,0 +1,59 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.dto.BookDTO;
+import com.kaushik.restapis.bookstore_management.service.reactive.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the book read endpoints (bookstore.reactive.enabled).
+ * Handlers return Mono/Flux, which Spring MVC serves asynchronously: the
+ * request thread is released while Mongo answers.
+ */
+@RestController
+@RequestMapping("/api/reactive/books")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveBookController {
+
+    @Autowired
+    private ReactiveCatalogService catalogService;
+
+    // Get a page of books, optionally of one author or category
+    @GetMapping
+    public Flux<BookDTO> getBooks(
+            @RequestParam(required = false) String authorId,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return catalogService.getBooks(authorId, categoryId, PageRequest.of(page, size, sort));
+    }
+
+    // Get book by ID
+    @GetMapping("/{id}")
+    public Mono<BookDTO> getBookById(@PathVariable String id) {
+        return catalogService.getBookById(id);
+    }
+
+    // Get book by ISBN
+    @GetMapping("/isbn/{isbn}")
+    public Mono<BookDTO> getBookByIsbn(@PathVariable String isbn) {
+        return catalogService.getBookByIsbn(isbn);
+    }
+}
@@ -0,0 +1,47 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.service.reactive.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking variant of the category read endpoints (bookstore.reactive.enabled)
+@RestController
+@RequestMapping("/api/reactive/categories")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveCategoryController {
+
+    @Autowired
+    private ReactiveCatalogService catalogService;
+
+    // Get a page of categories
+    @GetMapping
+    public Flux<Category> getCategories(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return catalogService.getCategories(PageRequest.of(page, size, sort));
+    }
+
+    // Get category by ID
+    @GetMapping("/{id}")
+    public Mono<Category> getCategoryById(@PathVariable String id) {
+        return catalogService.getCategoryById(id);
+    }
+}
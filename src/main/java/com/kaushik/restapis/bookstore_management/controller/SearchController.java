@@ -0,0 +1,48 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.dto.SuggestionDTO;
+import com.kaushik.restapis.bookstore_management.service.search.AutocompleteService;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    // Typeahead suggestions for book titles, author names and category names
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SuggestionDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit,
+            @RequestParam(required = false) String types) {
+        List<SuggestionDTO> suggestions = autocompleteService.complete(q,
+                AutocompleteService.parseTypes(types), Math.min(Math.max(limit, 1), 10));
+        // Keystrokes repeat prefixes; let the browser reuse answers briefly
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic())
+                .body(suggestions);
+    }
+
+    // Report that a suggestion was picked so it ranks higher next time
+    @PostMapping("/autocomplete/select")
+    public ResponseEntity<Void> recordSelection(@RequestParam String type, @RequestParam String id) {
+        AutocompleteService.Type parsed = AutocompleteService.parseTypes(type).iterator().next();
+        autocompleteService.recordSelection(parsed, id);
+        return ResponseEntity.noContent().build();
+    }
+}
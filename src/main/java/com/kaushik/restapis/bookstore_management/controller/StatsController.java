@@ -0,0 +1,34 @@
+package com.kaushik.restapis.bookstore_management.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kaushik.restapis.bookstore_management.dto.CatalogStatsDTO;
+import com.kaushik.restapis.bookstore_management.service.stats.CatalogStatsService;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    @Autowired
+    private CatalogStatsService catalogStatsService;
+
+    // Book counts, stock units and inventory value, overall and per category / author
+    @GetMapping
+    public ResponseEntity<CatalogStatsDTO> getStats() {
+        return ResponseEntity.ok(catalogStatsService.getStats());
+    }
+
+    // Recount from the books collection now instead of waiting for the scheduled run
+    @PostMapping("/recompute")
+    public ResponseEntity<CatalogStatsDTO> recompute() {
+        catalogStatsService.recompute();
+        return ResponseEntity.ok(catalogStatsService.getStats());
+    }
+}
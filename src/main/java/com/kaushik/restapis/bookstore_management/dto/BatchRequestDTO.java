@@ -0,0 +1,38 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Keys for a multi-get. Books accept ids or ISBNs (not both); authors and
+ * categories take ids only.
+ */
+public class BatchRequestDTO {
+
+    @Size(max = 100, message = "At most 100 ids per batch")
+    private List<String> ids;
+
+    @Size(max = 100, message = "At most 100 ISBNs per batch")
+    private List<String> isbns;
+
+    public BatchRequestDTO() {
+    }
+
+    // Getters and Setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getIsbns() {
+        return isbns;
+    }
+
+    public void setIsbns(List<String> isbns) {
+        this.isbns = isbns;
+    }
+}
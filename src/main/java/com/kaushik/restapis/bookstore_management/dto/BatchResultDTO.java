@@ -0,0 +1,54 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-get result. {@code items} lines up with the requested keys, with
+ * null where nothing was found; {@code missing} lists those keys.
+ */
+public class BatchResultDTO<T> {
+
+    private List<T> items;
+    private List<String> missing;
+
+    public BatchResultDTO() {
+    }
+
+    public BatchResultDTO(List<T> items, List<String> missing) {
+        this.items = items;
+        this.missing = missing;
+    }
+
+    // Result in the order of keys, from whatever was found for them
+    public static <T> BatchResultDTO<T> of(List<String> keys, Map<String, T> found) {
+        List<T> items = new ArrayList<>(keys.size());
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            T item = found.get(key);
+            items.add(item);
+            if (item == null) {
+                missing.add(key);
+            }
+        }
+        return new BatchResultDTO<>(items, missing);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Bulk price or stock change. The filter fields are combined with AND and at
+ * least one is required; exactly one of the four operations must be set.
+ */
+public class BookBulkUpdateDTO {
+
+    // Filter
+    private String categoryId;
+    private String authorId;
+    private String language;
+    private List<String> ids;
+
+    // Operation: e.g. pricePercent 10 raises prices by 10%, priceAmount -2.50 lowers them by 2.50
+    private BigDecimal pricePercent;
+    private BigDecimal priceAmount;
+    private Integer stockSet;
+    private Integer stockIncrement;
+
+    // Report what would change without writing anything
+    private boolean dryRun;
+
+    public BookBulkUpdateDTO() {
+    }
+
+    // Getters and Setters
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(String categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public BigDecimal getPricePercent() {
+        return pricePercent;
+    }
+
+    public void setPricePercent(BigDecimal pricePercent) {
+        this.pricePercent = pricePercent;
+    }
+
+    public BigDecimal getPriceAmount() {
+        return priceAmount;
+    }
+
+    public void setPriceAmount(BigDecimal priceAmount) {
+        this.priceAmount = priceAmount;
+    }
+
+    public Integer getStockSet() {
+        return stockSet;
+    }
+
+    public void setStockSet(Integer stockSet) {
+        this.stockSet = stockSet;
+    }
+
+    public Integer getStockIncrement() {
+        return stockIncrement;
+    }
+
+    public void setStockIncrement(Integer stockIncrement) {
+        this.stockIncrement = stockIncrement;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+}
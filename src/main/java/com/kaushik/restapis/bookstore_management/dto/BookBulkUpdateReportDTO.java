@@ -0,0 +1,120 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookBulkUpdateReportDTO {
+
+    private boolean dryRun;
+    // Books selected by the filter
+    private int matched;
+    // Books changed (or, on a dry run, that would be)
+    private int modified;
+    private int skipped;
+    private long durationMs;
+    private boolean idsTruncated;
+    private List<String> ids = new ArrayList<>();
+    private List<SkippedBook> skippedBooks = new ArrayList<>();
+
+    public BookBulkUpdateReportDTO() {
+    }
+
+    public BookBulkUpdateReportDTO(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public static class SkippedBook {
+
+        private String id;
+        private String reason;
+
+        public SkippedBook() {
+        }
+
+        public SkippedBook(String id, String reason) {
+            this.id = id;
+            this.reason = reason;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    // Getters and Setters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int getMatched() {
+        return matched;
+    }
+
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+
+    public int getModified() {
+        return modified;
+    }
+
+    public void setModified(int modified) {
+        this.modified = modified;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public boolean isIdsTruncated() {
+        return idsTruncated;
+    }
+
+    public void setIdsTruncated(boolean idsTruncated) {
+        this.idsTruncated = idsTruncated;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<SkippedBook> getSkippedBooks() {
+        return skippedBooks;
+    }
+
+    public void setSkippedBooks(List<SkippedBook> skippedBooks) {
+        this.skippedBooks = skippedBooks;
+    }
+}
@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 public class BookDTO {
 
     private String id;
+    private Long version;
     private String title;
     private String isbn;
     private String description;
@@ -56,6 +57,14 @@ public class BookDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
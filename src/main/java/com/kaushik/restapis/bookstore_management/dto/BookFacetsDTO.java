@@ -0,0 +1,170 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Filter sidebar counts for the books matching a search
+public class BookFacetsDTO {
+
+    private long total;
+    private List<CategoryCount> categories = new ArrayList<>();
+    private List<ValueCount> languages = new ArrayList<>();
+    private List<ValueCount> publicationYears = new ArrayList<>();
+    private List<PriceBucket> priceBuckets = new ArrayList<>();
+
+    public BookFacetsDTO() {
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<CategoryCount> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryCount> categories) {
+        this.categories = categories;
+    }
+
+    public List<ValueCount> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(List<ValueCount> languages) {
+        this.languages = languages;
+    }
+
+    public List<ValueCount> getPublicationYears() {
+        return publicationYears;
+    }
+
+    public void setPublicationYears(List<ValueCount> publicationYears) {
+        this.publicationYears = publicationYears;
+    }
+
+    public List<PriceBucket> getPriceBuckets() {
+        return priceBuckets;
+    }
+
+    public void setPriceBuckets(List<PriceBucket> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+
+    public static class CategoryCount {
+
+        private String id;
+        private String name;
+        private long count;
+
+        public CategoryCount() {
+        }
+
+        public CategoryCount(String id, String name, long count) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+    public static class ValueCount {
+
+        private Object value;
+        private long count;
+
+        public ValueCount() {
+        }
+
+        public ValueCount(Object value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+    // Prices in [min, max); max is null for the open-ended top bucket
+    public static class PriceBucket {
+
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+
+        public PriceBucket() {
+        }
+
+        public PriceBucket(BigDecimal min, BigDecimal max, long count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public BigDecimal getMin() {
+            return min;
+        }
+
+        public void setMin(BigDecimal min) {
+            this.min = min;
+        }
+
+        public BigDecimal getMax() {
+            return max;
+        }
+
+        public void setMax(BigDecimal max) {
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookImportReportDTO {
+
+    private String format;
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private long durationMs;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    public BookImportReportDTO() {
+    }
+
+    public BookImportReportDTO(String format) {
+        this.format = format;
+    }
+
+    public static class RowError {
+
+        private int row;
+        private String isbn;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int row, String isbn, String message) {
+            this.row = row;
+            this.isbn = isbn;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        public void setIsbn(String isbn) {
+            this.isbn = isbn;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+
+    // Getters and Setters
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+}
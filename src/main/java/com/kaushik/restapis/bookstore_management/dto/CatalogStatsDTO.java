@@ -0,0 +1,130 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Catalog totals and inventory value (sum of price x stock), overall and per category / author
+public class CatalogStatsDTO {
+
+    private long totalBooks;
+    private long totalStockUnits;
+    private BigDecimal inventoryValue;
+    private List<GroupStats> categories = new ArrayList<>();
+    private List<GroupStats> authors = new ArrayList<>();
+    // Last full recount; changes since then were applied as deltas
+    private LocalDateTime recomputedAt;
+
+    public CatalogStatsDTO() {
+    }
+
+    // Getters and Setters
+    public long getTotalBooks() {
+        return totalBooks;
+    }
+
+    public void setTotalBooks(long totalBooks) {
+        this.totalBooks = totalBooks;
+    }
+
+    public long getTotalStockUnits() {
+        return totalStockUnits;
+    }
+
+    public void setTotalStockUnits(long totalStockUnits) {
+        this.totalStockUnits = totalStockUnits;
+    }
+
+    public BigDecimal getInventoryValue() {
+        return inventoryValue;
+    }
+
+    public void setInventoryValue(BigDecimal inventoryValue) {
+        this.inventoryValue = inventoryValue;
+    }
+
+    public List<GroupStats> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<GroupStats> categories) {
+        this.categories = categories;
+    }
+
+    public List<GroupStats> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<GroupStats> authors) {
+        this.authors = authors;
+    }
+
+    public LocalDateTime getRecomputedAt() {
+        return recomputedAt;
+    }
+
+    public void setRecomputedAt(LocalDateTime recomputedAt) {
+        this.recomputedAt = recomputedAt;
+    }
+
+    public static class GroupStats {
+
+        private String id;
+        private String name;
+        private long books;
+        private long stockUnits;
+        private BigDecimal inventoryValue;
+
+        public GroupStats() {
+        }
+
+        public GroupStats(String id, String name, long books, long stockUnits, BigDecimal inventoryValue) {
+            this.id = id;
+            this.name = name;
+            this.books = books;
+            this.stockUnits = stockUnits;
+            this.inventoryValue = inventoryValue;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getBooks() {
+            return books;
+        }
+
+        public void setBooks(long books) {
+            this.books = books;
+        }
+
+        public long getStockUnits() {
+            return stockUnits;
+        }
+
+        public void setStockUnits(long stockUnits) {
+            this.stockUnits = stockUnits;
+        }
+
+        public BigDecimal getInventoryValue() {
+            return inventoryValue;
+        }
+
+        public void setInventoryValue(BigDecimal inventoryValue) {
+            this.inventoryValue = inventoryValue;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.util.List;
+
+import com.kaushik.restapis.bookstore_management.entity.ChangeLogEntry;
+
+public class ChangeFeedDTO {
+
+    private List<ChangeLogEntry> changes;
+    // Pass back as ?since= to continue after the last change returned
+    private String next;
+    private boolean hasMore;
+
+    public ChangeFeedDTO() {
+    }
+
+    public ChangeFeedDTO(List<ChangeLogEntry> changes, String next, boolean hasMore) {
+        this.changes = changes;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<ChangeLogEntry> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ChangeLogEntry> changes) {
+        this.changes = changes;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,83 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+public class DuplicateCandidateDTO {
+
+    private String bookId;
+    private String title;
+    private String isbn;
+    private String duplicateBookId;
+    private String duplicateTitle;
+    private String duplicateIsbn;
+    private double similarity;
+
+    public DuplicateCandidateDTO() {
+    }
+
+    public DuplicateCandidateDTO(String bookId, String title, String isbn,
+            String duplicateBookId, String duplicateTitle, String duplicateIsbn, double similarity) {
+        this.bookId = bookId;
+        this.title = title;
+        this.isbn = isbn;
+        this.duplicateBookId = duplicateBookId;
+        this.duplicateTitle = duplicateTitle;
+        this.duplicateIsbn = duplicateIsbn;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public String getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(String bookId) {
+        this.bookId = bookId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public String getDuplicateBookId() {
+        return duplicateBookId;
+    }
+
+    public void setDuplicateBookId(String duplicateBookId) {
+        this.duplicateBookId = duplicateBookId;
+    }
+
+    public String getDuplicateTitle() {
+        return duplicateTitle;
+    }
+
+    public void setDuplicateTitle(String duplicateTitle) {
+        this.duplicateTitle = duplicateTitle;
+    }
+
+    public String getDuplicateIsbn() {
+        return duplicateIsbn;
+    }
+
+    public void setDuplicateIsbn(String duplicateIsbn) {
+        this.duplicateIsbn = duplicateIsbn;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
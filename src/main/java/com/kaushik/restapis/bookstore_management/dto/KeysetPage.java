@@ -0,0 +1,35 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.util.List;
+
+public class KeysetPage<T> {
+
+    private List<T> items;
+    // Opaque token for the following page; null when this is the last page
+    private String nextCursor;
+
+    public KeysetPage() {
+    }
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,68 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import java.time.LocalDateTime;
+
+public class ReservationDTO {
+
+    public enum Status {
+        HELD, CONFIRMED
+    }
+
+    private String reservationId;
+    private String bookId;
+    private Integer quantity;
+    private Status status;
+    private LocalDateTime expiresAt;
+
+    public ReservationDTO() {
+    }
+
+    public ReservationDTO(String reservationId, String bookId, Integer quantity, Status status, LocalDateTime expiresAt) {
+        this.reservationId = reservationId;
+        this.bookId = bookId;
+        this.quantity = quantity;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(String bookId) {
+        this.bookId = bookId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+public class StockLevelDTO {
+
+    private String bookId;
+    private Integer stockQuantity;
+    private Long version;
+
+    public StockLevelDTO() {
+    }
+
+    public StockLevelDTO(String bookId, Integer stockQuantity, Long version) {
+        this.bookId = bookId;
+        this.stockQuantity = stockQuantity;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public String getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(String bookId) {
+        this.bookId = bookId;
+    }
+
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -3,6 +3,8 @@ package com.kaushik.restapis.bookstore_management.entity;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -11,11 +13,17 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Document(collection = "authors")
+@CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}")
 public class Author {
 
     @Id
     private String id;
 
+    // Incremented on every save; used for optimistic locking and ETags
+    @Version
+    @Field("version")
+    private Long version;
+
     @NotBlank(message = "Author name is required")
     @Size(min = 2, max = 100, message = "Author name must be between 2 and 100 characters")
     @Field("name")
@@ -51,6 +59,14 @@ public class Author {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
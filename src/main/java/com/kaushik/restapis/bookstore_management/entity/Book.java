@@ -4,6 +4,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -14,11 +17,31 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Document(collection = "books")
+// {sortKey, _id} indexes back cursor pagination on each sortable field and the range finders;
+// author/category indexes back the reference finders and search filters
+@CompoundIndexes({
+    @CompoundIndex(name = "title_id", def = "{'title': 1, '_id': 1}"),
+    @CompoundIndex(name = "price_id", def = "{'price': 1, '_id': 1}"),
+    @CompoundIndex(name = "publication_year_id", def = "{'publication_year': 1, '_id': 1}"),
+    @CompoundIndex(name = "created_at_id", def = "{'created_at': 1, '_id': 1}"),
+    @CompoundIndex(name = "stock_quantity_id", def = "{'stock_quantity': 1, '_id': 1}"),
+    @CompoundIndex(name = "author_id", def = "{'author': 1, '_id': 1}"),
+    @CompoundIndex(name = "author_price", def = "{'author': 1, 'price': 1}"),
+    @CompoundIndex(name = "category_id", def = "{'category': 1, '_id': 1}"),
+    @CompoundIndex(name = "category_price", def = "{'category': 1, 'price': 1}"),
+    @CompoundIndex(name = "embedding_updated_at", def = "{'embedding_updated_at': 1}"),
+    @CompoundIndex(name = "language_ci", def = "{'language': 1}", collation = "{'locale': 'en', 'strength': 2}")
+})
 public class Book {
 
     @Id
     private String id;
 
+    // Incremented on every save; used for optimistic locking and ETags
+    @Version
+    @Field("version")
+    private Long version;
+
     @NotNull
     @Field("title")
     private String title;
@@ -31,6 +54,7 @@ public class Book {
     @Field("publication_year")
     private Integer publicationYear;
 
+    // Stored as Decimal128 (see MongoConfig), so range filters and the price index compare numbers
     @NotNull
     @Field("price")
     private BigDecimal price;
@@ -52,12 +76,27 @@ public class Book {
     @Field("updated_at")
     private LocalDateTime updatedAt;
 
-    @DBRef
+    // Id of the inventory flush that last wrote the stock; tells a flush which of its bulk updates applied
+    @Field("stock_flush")
+    private String stockFlush;
+
+    // Id of the bulk update run that last wrote this book; tells the run which of its updates applied
+    @Field("bulk_update")
+    private String bulkUpdate;
+
+    // Lazy so reads don't resolve the references; names come from the snapshots below
+    @DBRef(lazy = true)
     private Author author;
 
-    @DBRef
+    @DBRef(lazy = true)
     private Category category;
 
+    @Field("author_ref")
+    private EntityRef authorRef;
+
+    @Field("category_ref")
+    private EntityRef categoryRef;
+
     @org.springframework.data.mongodb.core.mapping.Field("embedding")
     private java.util.List<Double> embedding;
 
@@ -77,8 +116,8 @@ public class Book {
         this.description = description;
         this.price = price;
         this.stockQuantity = stockQuantity;
-        this.author = author;
-        this.category = category;
+        setAuthor(author);
+        setCategory(category);
     }
 
     protected void onCreate() {
@@ -99,6 +138,14 @@ public class Book {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -179,12 +226,30 @@ public class Book {
         this.updatedAt = updatedAt;
     }
 
+    public String getStockFlush() {
+        return stockFlush;
+    }
+
+    public void setStockFlush(String stockFlush) {
+        this.stockFlush = stockFlush;
+    }
+
+    public String getBulkUpdate() {
+        return bulkUpdate;
+    }
+
+    public void setBulkUpdate(String bulkUpdate) {
+        this.bulkUpdate = bulkUpdate;
+    }
+
     public Author getAuthor() {
         return author;
     }
 
+    // Also refreshes the embedded snapshot so it can never drift from the reference
     public void setAuthor(Author author) {
         this.author = author;
+        this.authorRef = author != null ? new EntityRef(author.getId(), author.getName()) : null;
     }
 
     public Category getCategory() {
@@ -193,6 +258,23 @@ public class Book {
 
     public void setCategory(Category category) {
         this.category = category;
+        this.categoryRef = category != null ? new EntityRef(category.getId(), category.getName()) : null;
+    }
+
+    public EntityRef getAuthorRef() {
+        return authorRef;
+    }
+
+    public void setAuthorRef(EntityRef authorRef) {
+        this.authorRef = authorRef;
+    }
+
+    public EntityRef getCategoryRef() {
+        return categoryRef;
+    }
+
+    public void setCategoryRef(EntityRef categoryRef) {
+        this.categoryRef = categoryRef;
     }
 
     public java.util.List<Double> getEmbedding() {
@@ -3,16 +3,23 @@ package com.kaushik.restapis.bookstore_management.entity;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "categories")
+@CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}")
 public class Category {
 
     @Id
     private String id;
 
+    // Incremented on every save; used for optimistic locking and ETags
+    @Version
+    private Long version;
+
     @Indexed(unique = true)
     private String name;
 
@@ -38,6 +45,14 @@ public class Category {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
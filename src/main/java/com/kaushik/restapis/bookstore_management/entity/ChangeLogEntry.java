@@ -0,0 +1,97 @@
+package com.kaushik.restapis.bookstore_management.entity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * One row of the append-only change log. The sequence number is the _id, so
+ * reading "everything after n" is a range scan on the primary index.
+ * {@code data} holds the whole record for CREATED changes, only the fields
+ * that changed for book updates, and nothing for DELETED.
+ */
+@Document(collection = "change_log")
+public class ChangeLogEntry {
+
+    @Id
+    private Long seq;
+
+    @Field("at")
+    private LocalDateTime at;
+
+    // "book", "author" or "category"
+    @Field("entity")
+    private String entity;
+
+    // CREATED, UPDATED or DELETED
+    @Field("op")
+    private String op;
+
+    @Field("entity_id")
+    private String entityId;
+
+    @Field("data")
+    private Map<String, Object> data;
+
+    public ChangeLogEntry() {
+    }
+
+    public ChangeLogEntry(String entity, String op, String entityId, Map<String, Object> data) {
+        this.entity = entity;
+        this.op = op;
+        this.entityId = entityId;
+        this.data = data;
+    }
+
+    // Getters and Setters
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+
+    public void setAt(LocalDateTime at) {
+        this.at = at;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public void setData(Map<String, Object> data) {
+        this.data = data;
+    }
+}
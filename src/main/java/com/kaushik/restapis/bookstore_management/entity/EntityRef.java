@@ -0,0 +1,37 @@
+package com.kaushik.restapis.bookstore_management.entity;
+
+/**
+ * Embedded {id, name} snapshot of a referenced author or category. Stored
+ * inside the book document so reads don't have to resolve the DBRef.
+ */
+public class EntityRef {
+
+    private String id;
+
+    private String name;
+
+    public EntityRef() {
+    }
+
+    public EntityRef(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
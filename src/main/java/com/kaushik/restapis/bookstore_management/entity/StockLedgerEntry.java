@@ -0,0 +1,86 @@
+package com.kaushik.restapis.bookstore_management.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A confirmed reservation whose stock change may not have reached the book
+ * yet. Written before the confirmation is acknowledged and deleted once the
+ * flush that carries it has applied, so whatever is left here after a crash
+ * is exactly the sales still owed to the stored stock counts.
+ */
+@Document(collection = "stock_ledger")
+public class StockLedgerEntry {
+
+    // The reservation id
+    @Id
+    private String id;
+
+    @Field("book_id")
+    private String bookId;
+
+    // Units sold
+    @Field("quantity")
+    private Integer quantity;
+
+    @Field("confirmed_at")
+    private LocalDateTime confirmedAt;
+
+    // stockFlush token of the last flush that carried this entry; applied when the book still has it
+    @Field("flush")
+    private String flush;
+
+    public StockLedgerEntry() {
+    }
+
+    public StockLedgerEntry(String id, String bookId, Integer quantity, LocalDateTime confirmedAt) {
+        this.id = id;
+        this.bookId = bookId;
+        this.quantity = quantity;
+        this.confirmedAt = confirmedAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(String bookId) {
+        this.bookId = bookId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getConfirmedAt() {
+        return confirmedAt;
+    }
+
+    public void setConfirmedAt(LocalDateTime confirmedAt) {
+        this.confirmedAt = confirmedAt;
+    }
+
+    public String getFlush() {
+        return flush;
+    }
+
+    public void setFlush(String flush) {
+        this.flush = flush;
+    }
+}
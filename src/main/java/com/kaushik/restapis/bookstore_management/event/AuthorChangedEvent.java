@@ -0,0 +1,55 @@
+package com.kaushik.restapis.bookstore_management.event;
+
+import java.util.Objects;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+
+/**
+ * Published by AuthorService after a author has been written. Books embed the
+ * author name, so listeners mostly care about renames; {@code previousName} is
+ * the name before an UPDATED change.
+ */
+public class AuthorChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType type;
+    private final Author author;
+    private final String previousName;
+
+    public AuthorChangedEvent(ChangeType type, Author author, String previousName) {
+        this.type = type;
+        this.author = author;
+        this.previousName = previousName;
+    }
+
+    public static AuthorChangedEvent created(Author author) {
+        return new AuthorChangedEvent(ChangeType.CREATED, author, null);
+    }
+
+    public static AuthorChangedEvent updated(String previousName, Author author) {
+        return new AuthorChangedEvent(ChangeType.UPDATED, author, previousName);
+    }
+
+    public static AuthorChangedEvent deleted(Author author) {
+        return new AuthorChangedEvent(ChangeType.DELETED, author, author.getName());
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Author getAuthor() {
+        return author;
+    }
+
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    public boolean isRenamed() {
+        return type == ChangeType.UPDATED && !Objects.equals(previousName, author.getName());
+    }
+}
@@ -0,0 +1,54 @@
+package com.kaushik.restapis.bookstore_management.event;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+
+/**
+ * Published by BookService after a book has been written. Listeners (search
+ * indexes, caches, ...) use it to stay in sync without BookService knowing
+ * about them. {@code before} is null for CREATED, {@code after} is null for
+ * DELETED.
+ */
+public class BookChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType type;
+    private final Book before;
+    private final Book after;
+
+    public BookChangedEvent(ChangeType type, Book before, Book after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static BookChangedEvent created(Book book) {
+        return new BookChangedEvent(ChangeType.CREATED, null, book);
+    }
+
+    public static BookChangedEvent updated(Book before, Book after) {
+        return new BookChangedEvent(ChangeType.UPDATED, before, after);
+    }
+
+    public static BookChangedEvent deleted(Book book) {
+        return new BookChangedEvent(ChangeType.DELETED, book, null);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Book getBefore() {
+        return before;
+    }
+
+    public Book getAfter() {
+        return after;
+    }
+
+    public String getBookId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
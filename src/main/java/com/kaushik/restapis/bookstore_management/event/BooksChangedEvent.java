@@ -0,0 +1,23 @@
+package com.kaushik.restapis.bookstore_management.event;
+
+import java.util.List;
+
+/**
+ * Several book changes written together (an import chunk, a bulk update
+ * chunk, an inventory flush), published once instead of one
+ * BookChangedEvent per book. Listeners that write to Mongo per change (change
+ * log, counters, statistics) handle the batch with one write each; in-memory
+ * listeners apply the changes one by one.
+ */
+public class BooksChangedEvent {
+
+    private final List<BookChangedEvent> changes;
+
+    public BooksChangedEvent(List<BookChangedEvent> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    public List<BookChangedEvent> getChanges() {
+        return changes;
+    }
+}
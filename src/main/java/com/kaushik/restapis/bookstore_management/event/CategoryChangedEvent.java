@@ -0,0 +1,55 @@
+package com.kaushik.restapis.bookstore_management.event;
+
+import java.util.Objects;
+
+import com.kaushik.restapis.bookstore_management.entity.Category;
+
+/**
+ * Published by CategoryService after a category has been written. Books embed the
+ * category name, so listeners mostly care about renames; {@code previousName} is
+ * the name before an UPDATED change.
+ */
+public class CategoryChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType type;
+    private final Category category;
+    private final String previousName;
+
+    public CategoryChangedEvent(ChangeType type, Category category, String previousName) {
+        this.type = type;
+        this.category = category;
+        this.previousName = previousName;
+    }
+
+    public static CategoryChangedEvent created(Category category) {
+        return new CategoryChangedEvent(ChangeType.CREATED, category, null);
+    }
+
+    public static CategoryChangedEvent updated(String previousName, Category category) {
+        return new CategoryChangedEvent(ChangeType.UPDATED, category, previousName);
+    }
+
+    public static CategoryChangedEvent deleted(Category category) {
+        return new CategoryChangedEvent(ChangeType.DELETED, category, category.getName());
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    public boolean isRenamed() {
+        return type == ChangeType.UPDATED && !Objects.equals(previousName, category.getName());
+    }
+}
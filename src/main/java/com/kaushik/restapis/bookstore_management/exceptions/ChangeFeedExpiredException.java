@@ -0,0 +1,12 @@
+package com.kaushik.restapis.bookstore_management.exceptions;
+
+/**
+ * The requested position is no longer (or was never) in the change log; the
+ * consumer has to do a full read and continue from the current head.
+ */
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    public ChangeFeedExpiredException(String message) {
+        super(message);
+    }
+}
@@ -6,36 +6,73 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import com.kaushik.restapis.bookstore_management.entity.Book;
 
-public interface BookRepository extends MongoRepository<Book, String> {
+/**
+ * Finders taking a {@code Class<T>} use Spring Data dynamic projections: pass
+ * a projection interface from the {@code projection} package and only its
+ * fields are read from MongoDB. Every finder here is backed by an index on
+ * {@link Book}; BookRepositoryIndexTest checks the plans with explain().
+ */
+public interface BookRepository extends MongoRepository<Book, String>, BookRepositoryCustom {
 
     //Find by International Standard Book Number
     Optional<Book> findByIsbn(String isbn);
 
+    <T> Optional<T> findByIsbn(String isbn, Class<T> type);
+
+    //Find by id into a projection
+    <T> Optional<T> findProjectedById(String id, Class<T> type);
+
+    //Find all into a projection
+    <T> List<T> findAllBy(Class<T> type);
+
+    <T> Page<T> findAllBy(Pageable pageable, Class<T> type);
+
     //Find by title containing (case insensitive)
     List<Book> findByTitleContainingIgnoreCase(String title);
 
+    <T> List<T> findByTitleContainingIgnoreCase(String title, Class<T> type);
+
     //Find by title containing with pagination
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
+    <T> Page<T> findByTitleContainingIgnoreCase(String title, Pageable pageable, Class<T> type);
+
     //Find by author id
     List<Book> findByAuthorId(String authorId);
 
+    <T> List<T> findByAuthorId(String authorId, Class<T> type);
+
     //Find by author id with pagination
     Page<Book> findByAuthorId(String authorId, Pageable pageable);
 
+    <T> Page<T> findByAuthorId(String authorId, Pageable pageable, Class<T> type);
+
     //Find by category id
     List<Book> findByCategoryId(String categoryId);
 
+    <T> List<T> findByCategoryId(String categoryId, Class<T> type);
+
     //Find by category id with pagination
     Page<Book> findByCategoryId(String categoryId, Pageable pageable);
 
-    //Find by price range
-    List<Book> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    <T> Page<T> findByCategoryId(String categoryId, Pageable pageable, Class<T> type);
+
+    //Find by price range, both ends inclusive (a plain derived Between excludes them)
+    default List<Book> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return findByPriceBetween(Range.closed(minPrice, maxPrice), Book.class);
+    }
+
+    default <T> List<T> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Class<T> type) {
+        return findByPriceBetween(Range.closed(minPrice, maxPrice), type);
+    }
+
+    <T> List<T> findByPriceBetween(Range<BigDecimal> range, Class<T> type);
 
     //Find by stock quantity greater than
     List<Book> findByStockQuantityGreaterThan(Integer stockQuantity);
@@ -43,27 +80,20 @@ public interface BookRepository extends MongoRepository<Book, String> {
     //Find by stock quantity less than or equal
     List<Book> findByStockQuantityLessThanEqual(Integer stockQuantity);
 
-    //Complex query for advanced search
-    @Query("{$and: ["
-            + "{$or: [{title: {$regex: ?0, $options: 'i'}}, {?0: null}]},"
-            + "{$or: [{'author.$id': ?1}, {?1: null}]},"
-            + "{$or: [{'category.$id': ?2}, {?2: null}]},"
-            + "{$or: [{price: {$gte: ?3}}, {?3: null}]},"
-            + "{$or: [{price: {$lte: ?4}}, {?4: null}]}"
-            + "]}")
-    Page<Book> searchBooks(String title,
-            String authorId,
-            String categoryId,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            Pageable pageable);
-
-    //Check book existence by isbn 
+    <T> List<T> findByStockQuantityLessThanEqual(Integer stockQuantity, Class<T> type);
+
+    //Books that already have an embedding (AI similarity candidates); the timestamp is set together with the vector
+    @Query("{embedding_updated_at: {$ne: null}}")
+    <T> List<T> findWithEmbedding(Class<T> type);
+
+    //Books whose embedding still has to be computed
+    @Query(value = "{embedding_updated_at: null}",
+            fields = "{embedding: 0, embedding_updated_at: 0}")
+    <T> List<T> findWithoutEmbedding(Class<T> type);
+
+    //Check book existence by isbn
     boolean existsByIsbn(String isbn);
 
     //Check book by publication year
     List<Book> findByPublicationYear(Integer year);
-
-    //Find book by language
-    List<Book> findByLanguageIgnoreCase(String language);
 }
@@ -0,0 +1,33 @@
+package com.kaushik.restapis.bookstore_management.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookFields;
+
+/**
+ * Book queries that are built programmatically instead of derived or
+ * declared with {@code @Query}.
+ */
+public interface BookRepositoryCustom {
+
+    //Advanced search; null parameters are left out of the query
+    <T> Page<T> searchBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable, Class<T> type);
+
+    //Advanced search reading only the selected fields; one page of content, no total count
+    List<Book> searchBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable, BookFields fields);
+
+    //Category, language, year and price-bucket counts for the same filters, in one $facet aggregation
+    Document facetBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, List<BigDecimal> priceBoundaries);
+
+    //Find book by language, case insensitive via the language index collation
+    List<Book> findByLanguageIgnoreCase(String language);
+}
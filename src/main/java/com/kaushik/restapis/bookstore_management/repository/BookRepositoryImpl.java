@@ -0,0 +1,93 @@
+package com.kaushik.restapis.bookstore_management.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookFields;
+import com.kaushik.restapis.bookstore_management.repository.projection.Projections;
+
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    // Must match the collation of the language_ci index on Book
+    public static final Collation CASE_INSENSITIVE = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public <T> Page<T> searchBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable, Class<T> type) {
+        Criteria criteria = BookSearchCriteria.of(title, authorId, categoryId, minPrice, maxPrice);
+        Query query = criteria != null ? Query.query(criteria) : new Query();
+        Projections.include(query, type);
+        query.with(pageable);
+
+        List<T> content = mongoTemplate.query(Book.class).as(type).matching(query).all();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Book.class));
+    }
+
+    @Override
+    public List<Book> searchBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable, BookFields fields) {
+        Criteria criteria = BookSearchCriteria.of(title, authorId, categoryId, minPrice, maxPrice);
+        Query query = criteria != null ? Query.query(criteria) : new Query();
+        fields.include(query);
+        query.with(pageable);
+        return mongoTemplate.find(query, Book.class);
+    }
+
+    @Override
+    public Document facetBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, List<BigDecimal> priceBoundaries) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        Criteria criteria = BookSearchCriteria.of(title, authorId, categoryId, minPrice, maxPrice);
+        if (criteria != null) {
+            stages.add(Aggregation.match(criteria));
+        }
+        // Decimal128 like the stored prices; the last boundary doubles as the id of the open-ended bucket
+        Object[] boundaries = priceBoundaries.stream().map(Decimal128::new).toArray();
+        stages.add(Aggregation.facet(Aggregation.count().as("count")).as("total")
+                .and(Aggregation.match(Criteria.where("categoryRef").ne(null)),
+                        Aggregation.group("categoryRef.id").first("categoryRef.name").as("name").count().as("count"),
+                        Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by("name"))))
+                .as("categories")
+                .and(Aggregation.match(Criteria.where("language").ne(null)),
+                        Aggregation.group("language").count().as("count"),
+                        Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by("_id"))))
+                .as("languages")
+                .and(Aggregation.match(Criteria.where("publicationYear").ne(null)),
+                        Aggregation.group("publicationYear").count().as("count"),
+                        Aggregation.sort(Sort.by("_id")))
+                .as("publicationYears")
+                .and(Aggregation.match(Criteria.where("price").ne(null)),
+                        Aggregation.bucket("price").withBoundaries(boundaries)
+                                .withDefaultBucket(boundaries[boundaries.length - 1])
+                                .andOutputCount().as("count"))
+                .as("priceBuckets"));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(Book.class, stages), Document.class)
+                .getUniqueMappedResult();
+    }
+
+    @Override
+    public List<Book> findByLanguageIgnoreCase(String language) {
+        Query query = Query.query(Criteria.where("language").is(language)).collation(CASE_INSENSITIVE);
+        return mongoTemplate.find(query, Book.class);
+    }
+}
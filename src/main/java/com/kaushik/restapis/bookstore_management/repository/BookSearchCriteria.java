@@ -0,0 +1,47 @@
+package com.kaushik.restapis.bookstore_management.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Builds the filter for book search from whichever parameters are present.
+ * Absent parameters add no predicate at all, so the planner only sees fields
+ * that are actually constrained and can pick the matching index.
+ */
+public final class BookSearchCriteria {
+
+    private BookSearchCriteria() {
+    }
+
+    //Criteria for the given filters, or null when none is set
+    public static Criteria of(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice) {
+        List<Criteria> clauses = new ArrayList<>();
+        // DBRef equality, same shape as the derived findByAuthorId/findByCategoryId
+        if (authorId != null) {
+            clauses.add(Criteria.where("author.id").is(authorId));
+        }
+        if (categoryId != null) {
+            clauses.add(Criteria.where("category.id").is(categoryId));
+        }
+        if (minPrice != null && maxPrice != null) {
+            clauses.add(Criteria.where("price").gte(minPrice).lte(maxPrice));
+        } else if (minPrice != null) {
+            clauses.add(Criteria.where("price").gte(minPrice));
+        } else if (maxPrice != null) {
+            clauses.add(Criteria.where("price").lte(maxPrice));
+        }
+        // Substring match: the regex is applied to title_id index keys rather than whole documents
+        if (title != null && !title.isBlank()) {
+            clauses.add(Criteria.where("title").regex(Pattern.quote(title.trim()), "i"));
+        }
+        if (clauses.isEmpty()) {
+            return null;
+        }
+        return clauses.size() == 1 ? clauses.get(0) : new Criteria().andOperator(clauses);
+    }
+}
@@ -0,0 +1,16 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+import java.util.List;
+
+/**
+ * Closed projection for the AI similarity path: only what is needed to score
+ * and label a book.
+ */
+public interface BookEmbedding {
+
+    String getId();
+
+    String getTitle();
+
+    List<Double> getEmbedding();
+}
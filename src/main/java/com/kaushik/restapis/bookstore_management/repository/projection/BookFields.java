@@ -0,0 +1,99 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * A client-selected subset of the BookDTO properties ({@code ?fields=title,price}).
+ * Only the book fields behind them are read from Mongo; the id is always
+ * read so results can be keyed and paged, but it is only returned if asked for.
+ */
+public final class BookFields {
+
+    // BookDTO property -> Book properties it is built from
+    private static final Map<String, List<String>> SOURCES = Map.ofEntries(
+            Map.entry("id", List.of("id")),
+            Map.entry("version", List.of("version")),
+            Map.entry("title", List.of("title")),
+            Map.entry("isbn", List.of("isbn")),
+            Map.entry("description", List.of("description")),
+            Map.entry("price", List.of("price")),
+            Map.entry("stockQuantity", List.of("stockQuantity")),
+            Map.entry("publicationYear", List.of("publicationYear")),
+            Map.entry("pages", List.of("pages")),
+            Map.entry("language", List.of("language")),
+            Map.entry("createdAt", List.of("createdAt")),
+            Map.entry("updatedAt", List.of("updatedAt")),
+            // Embedded snapshot, with the DBRef as fallback for books without one
+            Map.entry("authorId", List.of("authorRef", "author")),
+            Map.entry("authorName", List.of("authorRef", "author")),
+            Map.entry("categoryId", List.of("categoryRef", "category")),
+            Map.entry("categoryName", List.of("categoryRef", "category")));
+
+    private final Set<String> names;
+
+    private BookFields(Set<String> names) {
+        this.names = names;
+    }
+
+    // Selection from a comma-separated list of BookDTO property names
+    public static BookFields parse(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : (fields != null ? fields : "").split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!SOURCES.containsKey(trimmed)) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed + "; allowed fields are " + new TreeSet<>(SOURCES.keySet()));
+            }
+            names.add(trimmed);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return new BookFields(names);
+    }
+
+    // Requested properties, in request order
+    public Set<String> getNames() {
+        return names;
+    }
+
+    public boolean includesAuthor() {
+        return names.contains("authorId") || names.contains("authorName");
+    }
+
+    public boolean includesCategory() {
+        return names.contains("categoryId") || names.contains("categoryName");
+    }
+
+    // Book properties to read; the query mapper translates them to the stored field names
+    public List<String> getSourceProperties() {
+        Set<String> properties = new LinkedHashSet<>();
+        properties.add("id");
+        for (String name : names) {
+            properties.addAll(SOURCES.get(name));
+        }
+        return List.copyOf(properties);
+    }
+
+    // Restrict the query to the fields behind the selection
+    public Query include(Query query) {
+        for (String property : getSourceProperties()) {
+            query.fields().include(property);
+        }
+        return query;
+    }
+
+    // Canonical form, e.g. for ETags
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+
+/**
+ * List projection for the blocking path: BookListSnapshot plus the DBRefs
+ * (lazy, unresolved) as a fallback for books without embedded snapshots.
+ */
+public interface BookListItem extends BookListSnapshot {
+
+    Author getAuthor();
+
+    Category getCategory();
+}
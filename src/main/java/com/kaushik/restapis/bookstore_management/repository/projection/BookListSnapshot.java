@@ -0,0 +1,40 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+
+/**
+ * Closed projection of a book as it appears in a list: the BookDTO fields
+ * except the description (up to 2000 characters, only shown on the detail
+ * view) plus the embedded author/category snapshots.
+ */
+public interface BookListSnapshot {
+
+    String getId();
+
+    Long getVersion();
+
+    String getTitle();
+
+    String getIsbn();
+
+    BigDecimal getPrice();
+
+    Integer getStockQuantity();
+
+    Integer getPublicationYear();
+
+    Integer getPages();
+
+    String getLanguage();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    EntityRef getAuthorRef();
+
+    EntityRef getCategoryRef();
+}
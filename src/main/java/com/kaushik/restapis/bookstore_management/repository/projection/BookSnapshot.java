@@ -0,0 +1,13 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+/**
+ * Closed projection of a book with all BookDTO fields (the list fields plus
+ * the description) and the embedded author/category snapshots, but not the
+ * DBRefs. Reactive reads use it
+ * directly because the reactive mapper cannot resolve DBRefs; BookSummary
+ * adds them for the blocking path.
+ */
+public interface BookSnapshot extends BookListSnapshot {
+
+    String getDescription();
+}
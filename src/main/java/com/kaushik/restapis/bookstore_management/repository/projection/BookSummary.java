@@ -0,0 +1,11 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+/**
+ * Closed projection of a book with exactly the fields BookDTO needs. Used for
+ * detail reads so the embedding vector is never loaded; lists use
+ * BookListItem, which also leaves out the description. The DBRefs are
+ * included (lazy, unresolved) only as a fallback for books without embedded
+ * snapshots.
+ */
+public interface BookSummary extends BookSnapshot, BookListItem {
+}
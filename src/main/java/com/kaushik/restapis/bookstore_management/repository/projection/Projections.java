@@ -0,0 +1,32 @@
+package com.kaushik.restapis.bookstore_management.repository.projection;
+
+import java.beans.PropertyDescriptor;
+
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+/**
+ * Helpers for reading projections through {@code MongoTemplate}. The fluent
+ * {@code query(..).as(..)} API derives the field list from raw property names,
+ * which misses properties stored under a different {@code @Field} name
+ * (publication_year, stock_quantity, ...). Listing the properties explicitly
+ * lets the query mapper translate them.
+ */
+public final class Projections {
+
+    private static final ProjectionFactory FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private Projections() {
+    }
+
+    //Restrict the query to the properties read by the projection interface
+    public static Query include(Query query, Class<?> projection) {
+        if (projection.isInterface()) {
+            for (PropertyDescriptor property : FACTORY.getProjectionInformation(projection).getInputProperties()) {
+                query.fields().include(property.getName());
+            }
+        }
+        return query;
+    }
+}
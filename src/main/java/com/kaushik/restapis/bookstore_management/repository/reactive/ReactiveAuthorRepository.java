@@ -0,0 +1,25 @@
+package com.kaushik.restapis.bookstore_management.repository.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of authors for the reactive serving mode. The books
+ * DBRef list is left out because the reactive mapper cannot resolve DBRefs.
+ */
+public interface ReactiveAuthorRepository extends ReactiveMongoRepository<Author, String> {
+
+    //Find by id, without the book references
+    @Query(value = "{_id: ?0}", fields = "{books: 0}")
+    Mono<Author> findProjectedById(String id);
+
+    //Find a page of authors, without the book references
+    @Query(value = "{}", fields = "{books: 0}")
+    Flux<Author> findAllBy(Pageable pageable);
+}
@@ -1,24 +1,51 @@
 package com.kaushik.restapis.bookstore_management.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kaushik.restapis.bookstore_management.dto.BatchResultDTO;
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
 import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
 import com.kaushik.restapis.bookstore_management.repository.AuthorRepository;
+import com.kaushik.restapis.bookstore_management.service.cache.LookupCaches;
+import com.kaushik.restapis.bookstore_management.service.pagination.KeysetPaginator;
 
 @Service
 @Transactional
 public class AuthorService {
 
+    //Sort keys usable with cursor pagination; each has a {key: 1, _id: 1} index on Author
+    static final Map<String, String> KEYSET_SORT_KEYS = Map.of("id", "id", "name", "name");
+
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private LookupCaches lookupCaches;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BookSnapshotSync bookSnapshotSync;
+
     // Remove constructor when using @Autowired
     // AuthorService(AuthorRepository authorRepository) {
     //     this.authorRepository = authorRepository;
@@ -29,7 +56,9 @@ public class AuthorService {
         if (authorRepository.existsByNameIgnoreCase(author.getName())) {
             throw new IllegalArgumentException("Author with name " + author.getName() + " already exists");
         }
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(AuthorChangedEvent.created(savedAuthor));
+        return savedAuthor;
     }
 
     //Get all authors
@@ -44,8 +73,37 @@ public class AuthorService {
         return authorRepository.findAll(pageable);
     }
 
+    //Get authors with cursor (keyset) pagination, optionally filtered by name or nationality
+    @Transactional(readOnly = true)
+    public KeysetPage<Author> getAuthorsPage(String search, String nationality,
+            String cursor, int size, String sortBy, String sortDir) {
+        Criteria filter = null;
+        if (nationality != null && !nationality.trim().isEmpty()) {
+            filter = Criteria.where("nationality").regex("^" + Pattern.quote(nationality) + "$", "i");
+        } else if (search != null && !search.trim().isEmpty()) {
+            filter = Criteria.where("name").regex(Pattern.quote(search), "i");
+        }
+        return keysetPaginator.page(Author.class, Author.class, filter, cursor, size, sortBy, sortDir, KEYSET_SORT_KEYS);
+    }
+
+    //Get authors by ids in request order through the cache; one $in query for the misses
+    @Transactional(readOnly = true)
+    public BatchResultDTO<Author> getAuthorsBatch(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Provide ids");
+        }
+        return BatchResultDTO.of(ids, lookupCaches.getAll(LookupCaches.AUTHORS, ids, Author.class, misses -> {
+            Map<String, Author> byId = new HashMap<>();
+            for (Author author : authorRepository.findAllById(misses)) {
+                byId.put(author.getId(), author);
+            }
+            return byId;
+        }));
+    }
+
     //Get author by id
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LookupCaches.AUTHORS, sync = true)
     public Author getAuthorById(String id) {
         return authorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Author with id " + id + " not found"));
@@ -61,17 +119,32 @@ public class AuthorService {
             throw new IllegalArgumentException("Author with name " + updatedAuthor.getName() + " already exists");
         }
 
+        String previousName = author.getName();
+        boolean renamed = !Objects.equals(previousName, updatedAuthor.getName());
         author.setName(updatedAuthor.getName());
         author.setBio(updatedAuthor.getBio());
         author.setNationality(updatedAuthor.getNationality());
 
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        if (renamed) {
+            syncBookSnapshots(savedAuthor, previousName);
+        }
+        eventPublisher.publishEvent(AuthorChangedEvent.updated(previousName, savedAuthor));
+        return savedAuthor;
+    }
+
+    //Rewrite the embedded author snapshot of every affected book and publish the rewritten books
+    public long syncBookSnapshots(Author author, String previousName) {
+        return bookSnapshotSync.rewrite(BookSnapshotSync.Reference.AUTHOR, author.getId(), previousName, author.getName());
     }
 
     //Delete Author 
     public void deleteAuthor(String id) {
         Author author = getAuthorById(id);
         authorRepository.delete(author);
+        // Books keep the author id but no longer show the deleted name
+        bookSnapshotSync.rewrite(BookSnapshotSync.Reference.AUTHOR, author.getId(), author.getName(), null);
+        eventPublisher.publishEvent(AuthorChangedEvent.deleted(author));
     }
 
     //Search authors by name
@@ -0,0 +1,123 @@
+package com.kaushik.restapis.bookstore_management.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.stereotype.Component;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.repository.AuthorRepository;
+import com.kaushik.restapis.bookstore_management.repository.CategoryRepository;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookListItem;
+
+/**
+ * Resolves author and category references for a whole batch of books at once.
+ * Books that already carry embedded snapshots are skipped; the ids of the rest
+ * are collected from the (unresolved) DBRefs and loaded with one $in query per
+ * collection, so mapping a page never costs more than three queries.
+ */
+@Component
+public class BookReferenceResolver {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    public References resolve(Collection<? extends BookListItem> books) {
+        Set<String> authorIds = new HashSet<>();
+        Set<String> categoryIds = new HashSet<>();
+        for (BookListItem book : books) {
+            if (book.getAuthorRef() == null) {
+                addId(authorIds, book.getAuthor());
+            }
+            if (book.getCategoryRef() == null) {
+                addId(categoryIds, book.getCategory());
+            }
+        }
+
+        Map<String, EntityRef> authors = new HashMap<>();
+        if (!authorIds.isEmpty()) {
+            for (Author author : authorRepository.findAllById(authorIds)) {
+                authors.put(author.getId(), new EntityRef(author.getId(), author.getName()));
+            }
+        }
+        Map<String, EntityRef> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (Category category : categoryRepository.findAllById(categoryIds)) {
+                categories.put(category.getId(), new EntityRef(category.getId(), category.getName()));
+            }
+        }
+        return new References(authors, categories);
+    }
+
+    // Id of a referenced entity without triggering lazy resolution
+    static String referenceId(Object reference) {
+        if (reference == null) {
+            return null;
+        }
+        if (reference instanceof LazyLoadingProxy proxy) {
+            Object id = proxy.toDBRef() != null ? proxy.toDBRef().getId() : null;
+            return id != null ? id.toString() : null;
+        }
+        if (reference instanceof Author author) {
+            return author.getId();
+        }
+        if (reference instanceof Category category) {
+            return category.getId();
+        }
+        return null;
+    }
+
+    private static void addId(Set<String> ids, Object reference) {
+        String id = referenceId(reference);
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Identity map for one batch: every author/category is looked up at most
+     * once no matter how many books point at it.
+     */
+    public static class References {
+
+        private final Map<String, EntityRef> authors;
+        private final Map<String, EntityRef> categories;
+
+        References(Map<String, EntityRef> authors, Map<String, EntityRef> categories) {
+            this.authors = authors;
+            this.categories = categories;
+        }
+
+        public EntityRef author(BookListItem book) {
+            if (book.getAuthorRef() != null) {
+                return book.getAuthorRef();
+            }
+            return lookup(authors, referenceId(book.getAuthor()));
+        }
+
+        public EntityRef category(BookListItem book) {
+            if (book.getCategoryRef() != null) {
+                return book.getCategoryRef();
+            }
+            return lookup(categories, referenceId(book.getCategory()));
+        }
+
+        private static EntityRef lookup(Map<String, EntityRef> refs, String id) {
+            if (id == null) {
+                return null;
+            }
+            // Dangling reference: keep the id so clients can still see what it pointed at
+            return refs.getOrDefault(id, new EntityRef(id, null));
+        }
+    }
+}
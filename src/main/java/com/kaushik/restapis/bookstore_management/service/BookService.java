@@ -1,26 +1,75 @@
 package com.kaushik.restapis.bookstore_management.service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kaushik.restapis.bookstore_management.dto.BatchResultDTO;
 import com.kaushik.restapis.bookstore_management.dto.BookCreateDTO;
 import com.kaushik.restapis.bookstore_management.dto.BookDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookFacetsDTO;
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
+import com.kaushik.restapis.bookstore_management.dto.StockLevelDTO;
 import com.kaushik.restapis.bookstore_management.entity.Author;
 import com.kaushik.restapis.bookstore_management.entity.Book;
 import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.exceptions.InsufficientStockException;
 import com.kaushik.restapis.bookstore_management.repository.BookRepository;
+import com.kaushik.restapis.bookstore_management.repository.BookSearchCriteria;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookFields;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookListItem;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookListSnapshot;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookSnapshot;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookSummary;
+import com.kaushik.restapis.bookstore_management.repository.projection.Projections;
+import com.kaushik.restapis.bookstore_management.service.cache.LookupCaches;
+import com.kaushik.restapis.bookstore_management.service.concurrent.BlockingTasks;
+import com.kaushik.restapis.bookstore_management.service.pagination.KeysetPaginator;
+import com.kaushik.restapis.bookstore_management.service.pricing.PriceRangeIndex;
+import com.kaushik.restapis.bookstore_management.service.search.BookSearchIndex;
 
 @Transactional
 @Service
 public class BookService {
 
+    // Sort keys usable with cursor pagination; each has a {key: 1, _id: 1} index on Book
+    static final Map<String, String> KEYSET_SORT_KEYS = Map.of(
+            "id", "id",
+            "title", "title",
+            "price", "price",
+            "publicationYear", "publicationYear",
+            "createdAt", "createdAt");
+
     @Autowired
     private BookRepository bookRepository;
 
@@ -30,16 +79,48 @@ public class BookService {
     @Autowired
     private AuthorService authorService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BlockingTasks blockingTasks;
+
+    @Autowired
+    private BookReferenceResolver referenceResolver;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private PriceRangeIndex priceRangeIndex;
+
+    @Autowired
+    private LookupCaches lookupCaches;
+
+    // Lower bounds of the price facet buckets; the last one starts the open-ended bucket
+    @Value("${bookstore.facets.price-boundaries:0,10,20,30,50,100}")
+    private List<BigDecimal> priceBoundaries;
+
+    // Views freshly saved entities through the same projection interface the read paths use
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
     //Create a new book
     public BookDTO createBook(BookCreateDTO bookCreateDTO) {
-        //check if ISBN already exists
-        if (bookRepository.existsByIsbn(bookCreateDTO.getIsbn())) {
+        //check the ISBN and get author and category side by side (one after another inside a transaction, see BlockingTasks); failures are reported in that order
+        CompletableFuture<Boolean> isbnTaken = blockingTasks.submit(() -> bookRepository.existsByIsbn(bookCreateDTO.getIsbn()));
+        CompletableFuture<Author> authorLookup = blockingTasks.submit(() -> authorService.getAuthorById(bookCreateDTO.getAuthorId()));
+        CompletableFuture<Category> categoryLookup = blockingTasks.submit(() -> categoryService.getCategoryById(bookCreateDTO.getCategoryId()));
+        if (BlockingTasks.joinUnchecked(isbnTaken)) {
             throw new IllegalArgumentException("Book with ISBN " + bookCreateDTO.getIsbn() + " already exists.");
         }
-
-        //get author and category
-        Author author = authorService.getAuthorById(bookCreateDTO.getAuthorId());
-        Category category = categoryService.getCategoryById(bookCreateDTO.getCategoryId());
+        Author author = BlockingTasks.joinUnchecked(authorLookup);
+        Category category = BlockingTasks.joinUnchecked(categoryLookup);
 
         //create a book entity
         Book book = new Book();
@@ -55,24 +136,89 @@ public class BookService {
         book.setCategory(category);
 
         Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.created(savedBook));
         return convertToDTO(savedBook);
     }
 
     // Get all books
     @Transactional(readOnly = true)
     public List<BookDTO> getAllBooks() {
-        List<Book> books = bookRepository.findAll();
-        return books.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<BookListItem> books = bookRepository.findAllBy(BookListItem.class);
+        return toDTOs(books);
     }
 
     // Get books with pagination
     @Transactional(readOnly = true)
     public Page<BookDTO> getAllBooks(Pageable pageable) {
-        Page<Book> books = bookRepository.findAll(pageable);
-        return books.map(this::convertToDTO);
+        Page<BookListItem> books = bookRepository.findAllBy(pageable, BookListItem.class);
+        return toDTOs(books);
+    }
+
+    // Stream the whole catalog in chunks of DTOs from a single Mongo cursor; memory stays at one chunk
+    @Transactional(readOnly = true)
+    public void streamAllBooks(int chunkSize, ChunkHandler handler) throws IOException {
+        Query query = Projections.include(new Query(), BookSummary.class)
+                .cursorBatchSize(chunkSize)
+                .noCursorTimeout();
+        try (Stream<BookSummary> books = mongoTemplate.query(Book.class).as(BookSummary.class).matching(query).stream()) {
+            Iterator<BookSummary> it = books.iterator();
+            List<BookSummary> chunk = new ArrayList<>(chunkSize);
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == chunkSize || !it.hasNext()) {
+                    handler.accept(toDTOs(chunk));
+                    chunk.clear();
+                }
+            }
+        }
     }
 
-    // Get book entity by id (for internal use)
+    // Get books with cursor (keyset) pagination, optionally filtered like searchBooks
+    @Transactional(readOnly = true)
+    public KeysetPage<BookDTO> getBooksPage(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, String cursor, int size, String sortBy, String sortDir) {
+        Criteria filter = BookSearchCriteria.of(title, authorId, categoryId, minPrice, maxPrice);
+        KeysetPage<BookListItem> page = keysetPaginator.page(Book.class, BookListItem.class, filter,
+                cursor, size, sortBy, sortDir, KEYSET_SORT_KEYS);
+        return new KeysetPage<>(toDTOs(page.getItems()), page.getNextCursor());
+    }
+
+    // Cursor pagination reading and returning only the selected fields
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> getBooksPage(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, String cursor, int size, String sortBy, String sortDir,
+            BookFields fields) {
+        Criteria filter = BookSearchCriteria.of(title, authorId, categoryId, minPrice, maxPrice);
+        KeysetPage<Book> page = keysetPaginator.page(Book.class, Book.class, fields.getSourceProperties(), filter,
+                cursor, size, sortBy, sortDir, KEYSET_SORT_KEYS);
+        return new KeysetPage<>(toMaps(page.getItems(), fields), page.getNextCursor());
+    }
+
+    // Search or list books reading and returning only the selected fields
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchBooks(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable, BookFields fields) {
+        return toMaps(bookRepository.searchBooks(title, authorId, categoryId, minPrice, maxPrice, pageable, fields), fields);
+    }
+
+    // Get book by id reading and returning only the selected fields
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBookById(String id, BookFields fields) {
+        Book book = mongoTemplate.findOne(fields.include(Query.query(Criteria.where("id").is(id))), Book.class);
+        if (book == null) {
+            throw new RuntimeException("Book not found with id: " + id);
+        }
+        return toMaps(List.of(book), fields).get(0);
+    }
+
+    // Get book by id without the embedding (for reads)
+    @Transactional(readOnly = true)
+    public BookSummary getBookSummaryById(String id) {
+        return bookRepository.findProjectedById(id, BookSummary.class)
+                .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
+    }
+
+    // Get full book entity by id (for internal use by write paths)
     @Transactional(readOnly = true)
     public Book getBookEntityById(String id) {
         return bookRepository.findById(id)
@@ -81,6 +227,9 @@ public class BookService {
 
     // Update book
     public BookDTO updateBook(String id, BookCreateDTO bookUpdateDTO) {
+        // Author and category are read while the book loads
+        CompletableFuture<Author> authorLookup = blockingTasks.submit(() -> authorService.getAuthorById(bookUpdateDTO.getAuthorId()));
+        CompletableFuture<Category> categoryLookup = blockingTasks.submit(() -> categoryService.getCategoryById(bookUpdateDTO.getCategoryId()));
         Book book = getBookEntityById(id);
 
         // Check if new ISBN conflicts with existing book (excluding current one)
@@ -90,8 +239,10 @@ public class BookService {
         }
 
         // Get author and category
-        Author author = authorService.getAuthorById(bookUpdateDTO.getAuthorId());
-        Category category = categoryService.getCategoryById(bookUpdateDTO.getCategoryId());
+        Author author = BlockingTasks.joinUnchecked(authorLookup);
+        Category category = BlockingTasks.joinUnchecked(categoryLookup);
+
+        Book before = copyOf(book);
 
         // Update book fields
         book.setTitle(bookUpdateDTO.getTitle());
@@ -106,6 +257,7 @@ public class BookService {
         book.setCategory(category);
 
         Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, savedBook));
         return convertToDTO(savedBook);
     }
 
@@ -113,95 +265,366 @@ public class BookService {
     public void deleteBook(String id) {
         Book book = getBookEntityById(id);
         bookRepository.delete(book);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(book));
     }
 
     // Search books by title
     @Transactional(readOnly = true)
     public List<BookDTO> searchBooksByTitle(String title) {
-        List<Book> books = bookRepository.findByTitleContainingIgnoreCase(title);
-        return books.stream().map(this::convertToDTO).collect(Collectors.toList());// map to DTO
+        List<BookListItem> books = bookRepository.findByTitleContainingIgnoreCase(title, BookListItem.class);
+        return toDTOs(books);
+    }
+
+    // Ranked keyword/substring search over title, description, author and category via the in-memory index
+    @Transactional(readOnly = true)
+    public List<BookDTO> searchBooksRanked(String text, int limit) {
+        if (!bookSearchIndex.isReady()) {
+            // Index still loading after startup: fall back to the title regex search
+            List<BookDTO> books = searchBooksByTitle(text);
+            return books.size() > limit ? books.subList(0, limit) : books;
+        }
+        return getBooksByIds(bookSearchIndex.search(text, limit));
+    }
+
+    // Get books by ids with one $in query, in the order of the given ids (unknown ids are skipped); list fields only
+    @Transactional(readOnly = true)
+    public List<BookDTO> getBooksByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, BookDTO> byId = findBooks("id", ids, BookListItem.class);
+        List<BookDTO> ordered = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            BookDTO book = byId.get(id);
+            if (book != null) {
+                ordered.add(book);
+            }
+        }
+        return ordered;
+    }
+
+    // Multi-get by ids or ISBNs through the lookup caches; cache misses are read with one $in query
+    @Transactional(readOnly = true)
+    public BatchResultDTO<BookDTO> getBooksBatch(List<String> ids, List<String> isbns) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byIsbns = isbns != null && !isbns.isEmpty();
+        if (byIds == byIsbns) {
+            throw new IllegalArgumentException("Provide either ids or isbns");
+        }
+        if (byIds) {
+            return BatchResultDTO.of(ids, lookupCaches.getAll(LookupCaches.BOOKS, ids, BookDTO.class,
+                    misses -> findBooks("id", misses, BookSummary.class)));
+        }
+        return BatchResultDTO.of(isbns, lookupCaches.getAll(LookupCaches.BOOKS_BY_ISBN, isbns, BookDTO.class,
+                misses -> findBooks("isbn", misses, BookSummary.class)));
+    }
+
+    // Books whose id or isbn is one of the given values, keyed by that field; BookSummary for cached detail DTOs
+    private <T extends BookListItem> Map<String, BookDTO> findBooks(String field, List<String> values, Class<T> projection) {
+        Query query = Projections.include(Query.query(Criteria.where(field).in(values)), projection);
+        List<T> books = mongoTemplate.query(Book.class).as(projection).matching(query).all();
+        Map<String, BookDTO> byKey = new HashMap<>();
+        for (BookDTO book : toDTOs(books)) {
+            byKey.put(field.equals("isbn") ? book.getIsbn() : book.getId(), book);
+        }
+        return byKey;
     }
 
     // Search books by title with pagination
     @Transactional(readOnly = true)
     public Page<BookDTO> searchBooksByTitle(String title, Pageable pageable) {
-        Page<Book> books = bookRepository.findByTitleContainingIgnoreCase(title, pageable);
-        return books.map(this::convertToDTO);
+        Page<BookListItem> books = bookRepository.findByTitleContainingIgnoreCase(title, pageable, BookListItem.class);
+        return toDTOs(books);
     }
 
     // Get books by author
     @Transactional(readOnly = true)
     public List<BookDTO> getBooksByAuthor(String authorId) {
-        List<Book> books = bookRepository.findByAuthorId(authorId);
-        return books.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<BookListItem> books = bookRepository.findByAuthorId(authorId, BookListItem.class);
+        return toDTOs(books);
     }
 
     // Get books by author with pagination
     @Transactional(readOnly = true)
     public Page<BookDTO> getBooksByAuthor(String authorId, Pageable pageable) {
-        Page<Book> books = bookRepository.findByAuthorId(authorId, pageable);
-        return books.map(this::convertToDTO);
+        Page<BookListItem> books = bookRepository.findByAuthorId(authorId, pageable, BookListItem.class);
+        return toDTOs(books);
     }
 
     // Get books by category
     @Transactional(readOnly = true)
     public List<BookDTO> getBooksByCategory(String categoryId) {
-        List<Book> books = bookRepository.findByCategoryId(categoryId);
-        return books.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<BookListItem> books = bookRepository.findByCategoryId(categoryId, BookListItem.class);
+        return toDTOs(books);
     }
 
     // Get books by category with pagination
     @Transactional(readOnly = true)
     public Page<BookDTO> getBooksByCategory(String categoryId, Pageable pageable) {
-        Page<Book> books = bookRepository.findByCategoryId(categoryId, pageable);
-        return books.map(this::convertToDTO);
+        Page<BookListItem> books = bookRepository.findByCategoryId(categoryId, pageable, BookListItem.class);
+        return toDTOs(books);
     }
 
     // Get books by price range
     @Transactional(readOnly = true)
     public List<BookDTO> getBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        List<Book> books = bookRepository.findByPriceBetween(minPrice, maxPrice);
-        return books.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<BookListItem> books = bookRepository.findByPriceBetween(minPrice, maxPrice, BookListItem.class);
+        return toDTOs(books);
+    }
+
+    // Count books in a price range (bounds inclusive, either may be null) from the in-memory price array
+    @Transactional(readOnly = true)
+    public long countBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (priceRangeIndex.isReady()) {
+            return priceRangeIndex.count(minPrice, maxPrice);
+        }
+        Criteria filter = BookSearchCriteria.of(null, null, null, minPrice, maxPrice);
+        return mongoTemplate.count(filter != null ? Query.query(filter) : new Query(), Book.class);
     }
 
     // Get books with low stock
     @Transactional(readOnly = true)
     public List<BookDTO> getBooksWithLowStock(Integer stockThreshold) {
-        List<Book> books = bookRepository.findByStockQuantityLessThanEqual(stockThreshold);
-        return books.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<BookListItem> books = bookRepository.findByStockQuantityLessThanEqual(stockThreshold, BookListItem.class);
+        return toDTOs(books);
     }
 
     // Complex search
     @Transactional(readOnly = true)
     public Page<BookDTO> searchBooks(String title, String authorId, String categoryId,
             BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        Page<Book> books = bookRepository.searchBooks(title, authorId, categoryId, minPrice, maxPrice, pageable);
-        return books.map(this::convertToDTO);
+        Page<BookListItem> books = bookRepository.searchBooks(title, authorId, categoryId, minPrice, maxPrice, pageable, BookListItem.class);
+        return toDTOs(books);
     }
 
-    // Update stock quantity
+    // Sidebar counts for a searchBooks filter; cached per filter until a faceted field changes
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LookupCaches.BOOK_FACETS, sync = true)
+    public BookFacetsDTO getBookFacets(String title, String authorId, String categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice) {
+        Document result = bookRepository.facetBooks(title, authorId, categoryId, minPrice, maxPrice, priceBoundaries);
+        BookFacetsDTO facets = new BookFacetsDTO();
+        List<Document> total = result.getList("total", Document.class);
+        facets.setTotal(total.isEmpty() ? 0 : facetCount(total.get(0)));
+        for (Document category : result.getList("categories", Document.class)) {
+            Object id = category.get("_id");
+            facets.getCategories().add(new BookFacetsDTO.CategoryCount(id != null ? id.toString() : null,
+                    category.getString("name"), facetCount(category)));
+        }
+        for (Document language : result.getList("languages", Document.class)) {
+            facets.getLanguages().add(new BookFacetsDTO.ValueCount(language.get("_id"), facetCount(language)));
+        }
+        for (Document year : result.getList("publicationYears", Document.class)) {
+            facets.getPublicationYears().add(new BookFacetsDTO.ValueCount(year.get("_id"), facetCount(year)));
+        }
+        // $bucket leaves out empty buckets; list every bucket so the sidebar layout is stable
+        Map<BigDecimal, Long> bucketCounts = new TreeMap<>();
+        for (Document bucket : result.getList("priceBuckets", Document.class)) {
+            Object lower = bucket.get("_id");
+            BigDecimal key = lower instanceof Decimal128 decimal ? decimal.bigDecimalValue() : new BigDecimal(lower.toString());
+            bucketCounts.put(key, facetCount(bucket));
+        }
+        for (int i = 0; i < priceBoundaries.size(); i++) {
+            BigDecimal min = priceBoundaries.get(i);
+            BigDecimal max = i + 1 < priceBoundaries.size() ? priceBoundaries.get(i + 1) : null;
+            facets.getPriceBuckets().add(new BookFacetsDTO.PriceBucket(min, max, bucketCounts.getOrDefault(min, 0L)));
+        }
+        return facets;
+    }
+
+    private static long facetCount(Document document) {
+        return ((Number) document.get("count")).longValue();
+    }
+
+    // Set the stock quantity with one findAndModify; the rest of the document is not rewritten
     public BookDTO updateBookStock(String id, Integer newStockQuantity) {
-        Book book = getBookEntityById(id);
-        book.setStockQuantity(newStockQuantity);
-        Book savedBook = bookRepository.save(book);
-        return convertToDTO(savedBook);
+        if (newStockQuantity == null || newStockQuantity < 0) {
+            throw new IllegalArgumentException("Stock quantity must be zero or more");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Book before = mongoTemplate.findAndModify(stockQuery(Criteria.where("id").is(id)),
+                stockUpdate(now).set("stockQuantity", newStockQuantity),
+                FindAndModifyOptions.options().returnNew(false), Book.class);
+        if (before == null) {
+            throw new RuntimeException("Book not found with id: " + id);
+        }
+        Book after = copyOf(before);
+        after.setStockQuantity(newStockQuantity);
+        after.setVersion(nextVersion(before.getVersion()));
+        after.setUpdatedAt(now);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, after));
+        return convertToDTO(after);
+    }
+
+    // Add stock atomically and return the new level
+    public StockLevelDTO incrementStock(String id, Integer quantity) {
+        return adjustStock(id, requirePositive(quantity));
+    }
+
+    // Take stock atomically if at least that much is available, and return the new level
+    public StockLevelDTO decrementStock(String id, Integer quantity) {
+        return adjustStock(id, -requirePositive(quantity));
+    }
+
+    // A single $inc findAndModify; a decrement only matches while stock_quantity >= the amount taken,
+    // so concurrent callers can never oversell or lose each other's updates
+    private StockLevelDTO adjustStock(String id, int delta) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (delta < 0) {
+            criteria = criteria.and("stockQuantity").gte(-delta);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Book after = mongoTemplate.findAndModify(stockQuery(criteria),
+                stockUpdate(now).inc("stockQuantity", delta),
+                FindAndModifyOptions.options().returnNew(true), Book.class);
+        if (after == null) {
+            // No match: tell a missing book from a short one (only on this failure path)
+            if (!bookRepository.existsById(id)) {
+                throw new RuntimeException("Book not found with id: " + id);
+            }
+            throw new InsufficientStockException("Not enough stock to take " + (-delta) + " of book " + id);
+        }
+        Book before = copyOf(after);
+        before.setStockQuantity(after.getStockQuantity() - delta);
+        before.setVersion(after.getVersion() != null ? after.getVersion() - 1 : null);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, after));
+        return new StockLevelDTO(after.getId(), after.getStockQuantity(), after.getVersion());
+    }
+
+    // Everything but the embedding, which events and DTOs never need
+    private static Query stockQuery(Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().exclude("embedding");
+        return query;
+    }
+
+    private static Update stockUpdate(LocalDateTime now) {
+        return new Update().inc("version", 1).set("updatedAt", now);
+    }
+
+    private static Long nextVersion(Long version) {
+        return version != null ? version + 1 : 1L;
+    }
+
+    private static int requirePositive(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be a positive number");
+        }
+        return quantity;
+    }
+
+    // Store a freshly computed embedding without rewriting the rest of the document
+    public void updateEmbedding(String id, List<Double> embedding) {
+        Update update = new Update()
+                .set("embedding", embedding)
+                .set("embeddingUpdatedAt", LocalDateTime.now());
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(id)), update, Book.class);
     }
 
     // Get book by ISBN
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LookupCaches.BOOKS_BY_ISBN, sync = true)
     public BookDTO getBookByIsbn(String isbn) {
-        Book book = bookRepository.findByIsbn(isbn)
+        BookSummary book = bookRepository.findByIsbn(isbn, BookSummary.class)
                 .orElseThrow(() -> new RuntimeException("Book not found with ISBN: " + isbn));
         return convertToDTO(book);
     }
 
+    // Shallow copy of the persisted state, used as the "before" side of change events.
+    // Only the embedded snapshots are copied so the lazy DBRefs are never resolved.
+    public static Book copyOf(Book book) {
+        Book copy = new Book();
+        copy.setId(book.getId());
+        copy.setVersion(book.getVersion());
+        copy.setTitle(book.getTitle());
+        copy.setIsbn(book.getIsbn());
+        copy.setDescription(book.getDescription());
+        copy.setPrice(book.getPrice());
+        copy.setStockQuantity(book.getStockQuantity());
+        copy.setPublicationYear(book.getPublicationYear());
+        copy.setPages(book.getPages());
+        copy.setLanguage(book.getLanguage());
+        copy.setCreatedAt(book.getCreatedAt());
+        copy.setUpdatedAt(book.getUpdatedAt());
+        copy.setAuthorRef(book.getAuthorRef());
+        copy.setCategoryRef(book.getCategoryRef());
+        return copy;
+    }
+
+    // Convert a list of books, resolving missing references for the whole list at once
+    private List<BookDTO> toDTOs(List<? extends BookListItem> books) {
+        BookReferenceResolver.References refs = referenceResolver.resolve(books);
+        return books.stream().map(b -> convertToDTO(b, refs)).collect(Collectors.toList());
+    }
+
+    // Only the selected BookDTO properties of each book, in the order they were asked for
+    private List<Map<String, Object>> toMaps(List<Book> books, BookFields fields) {
+        List<BookSummary> summaries = books.stream()
+                .map(b -> projectionFactory.createProjection(BookSummary.class, b))
+                .collect(Collectors.toList());
+        BookReferenceResolver.References refs = referenceResolver.resolve(summaries);
+        List<Map<String, Object>> rows = new ArrayList<>(summaries.size());
+        for (BookSummary book : summaries) {
+            EntityRef author = fields.includesAuthor() ? refs.author(book) : null;
+            EntityRef category = fields.includesCategory() ? refs.category(book) : null;
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String name : fields.getNames()) {
+                row.put(name, switch (name) {
+                    case "id" -> book.getId();
+                    case "version" -> book.getVersion();
+                    case "title" -> book.getTitle();
+                    case "isbn" -> book.getIsbn();
+                    case "description" -> book.getDescription();
+                    case "price" -> book.getPrice();
+                    case "stockQuantity" -> book.getStockQuantity();
+                    case "publicationYear" -> book.getPublicationYear();
+                    case "pages" -> book.getPages();
+                    case "language" -> book.getLanguage();
+                    case "createdAt" -> book.getCreatedAt();
+                    case "updatedAt" -> book.getUpdatedAt();
+                    case "authorId" -> author != null ? author.getId() : null;
+                    case "authorName" -> author != null ? author.getName() : null;
+                    case "categoryId" -> category != null ? category.getId() : null;
+                    case "categoryName" -> category != null ? category.getName() : null;
+                    default -> throw new IllegalArgumentException("Unknown field: " + name);
+                });
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Convert a page of books, resolving missing references for the whole page at once
+    private Page<BookDTO> toDTOs(Page<? extends BookListItem> books) {
+        BookReferenceResolver.References refs = referenceResolver.resolve(books.getContent());
+        return books.map(b -> convertToDTO(b, refs));
+    }
+
     // Convert Book entity to BookDTO
     private BookDTO convertToDTO(Book book) {
+        return convertToDTO(projectionFactory.createProjection(BookSummary.class, book));
+    }
+
+    private BookDTO convertToDTO(BookSummary book) {
+        return convertToDTO(book, referenceResolver.resolve(List.of(book)));
+    }
+
+    private BookDTO convertToDTO(BookListItem book, BookReferenceResolver.References refs) {
+        // Embedded snapshots when present, otherwise the batch-resolved reference
+        return toDTO(book, refs.author(book), refs.category(book));
+    }
+
+    // BookDTO from a book's fields and its resolved author and category (shared with the reactive read path);
+    // list projections carry no description, so it stays null there
+    public static BookDTO toDTO(BookListSnapshot book, EntityRef author, EntityRef category) {
         BookDTO dto = new BookDTO();
         dto.setId(book.getId());
+        dto.setVersion(book.getVersion());
         dto.setTitle(book.getTitle());
         dto.setIsbn(book.getIsbn());
-        dto.setDescription(book.getDescription());
+        if (book instanceof BookSnapshot detail) {
+            dto.setDescription(detail.getDescription());
+        }
         dto.setPrice(book.getPrice());
         dto.setStockQuantity(book.getStockQuantity());
         dto.setPublicationYear(book.getPublicationYear());
@@ -209,28 +632,26 @@ public class BookService {
         dto.setLanguage(book.getLanguage());
         dto.setCreatedAt(book.getCreatedAt());
         dto.setUpdatedAt(book.getUpdatedAt());
-        if (book.getAuthor() != null) {
-            dto.setAuthorName(book.getAuthor().getName());
-            dto.setAuthorId(book.getAuthor().getId());
-        } else {
-            dto.setAuthorName(null);
-            dto.setAuthorId(null);
-        }
 
-        if (book.getCategory() != null) {
-            dto.setCategoryName(book.getCategory().getName());
-            dto.setCategoryId(book.getCategory().getId());
-        } else {
-            dto.setCategoryName(null);
-            dto.setCategoryId(null);
-        }
+        dto.setAuthorName(author != null ? author.getName() : null);
+        dto.setAuthorId(author != null ? author.getId() : null);
+
+        dto.setCategoryName(category != null ? category.getName() : null);
+        dto.setCategoryId(category != null ? category.getId() : null);
         return dto;
     }
 
+    // Receives consecutive chunks from streamAllBooks
+    @FunctionalInterface
+    public interface ChunkHandler {
+
+        void accept(List<BookDTO> chunk) throws IOException;
+    }
+
     // Get book by id (returns DTO)
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LookupCaches.BOOKS, sync = true)
     public BookDTO getBookById(String id) {
-        Book book = getBookEntityById(id);
-        return convertToDTO(book);
+        return convertToDTO(getBookSummaryById(id));
     }
 }
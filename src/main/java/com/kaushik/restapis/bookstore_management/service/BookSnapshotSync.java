@@ -0,0 +1,85 @@
+package com.kaushik.restapis.bookstore_management.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+
+/**
+ * Keeps the author/category snapshots embedded in books in step with the
+ * referenced entity. A rename rewrites the name, a delete keeps the id and
+ * clears the name (shown like any dangling reference). The rewrite is one
+ * updateMany; the rewritten books are then published as BooksChangedEvents,
+ * so caches, ETag counters, the change log, the search indexes and the live
+ * stream see them like any other book update.
+ */
+@Component
+public class BookSnapshotSync {
+
+    private static final int EVENT_CHUNK_SIZE = 500;
+
+    public enum Reference {
+        AUTHOR("author", "authorRef"),
+        CATEGORY("category", "categoryRef");
+
+        private final String dbRef;
+        private final String snapshot;
+
+        Reference(String dbRef, String snapshot) {
+            this.dbRef = dbRef;
+            this.snapshot = snapshot;
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Set the snapshot of every book pointing at the entity; name null marks it deleted. Returns the books rewritten.
+    public long rewrite(Reference reference, String id, String previousName, String name) {
+        EntityRef snapshot = new EntityRef(id, name);
+        long modified = mongoTemplate.updateMulti(Query.query(Criteria.where(reference.dbRef + ".id").is(id)),
+                Update.update(reference.snapshot, snapshot).inc("version", 1), Book.class).getModifiedCount();
+        if (modified == 0) {
+            return 0;
+        }
+        Query query = Query.query(Criteria.where(reference.dbRef + ".id").is(id));
+        query.fields().exclude("embedding");
+        EntityRef previous = new EntityRef(id, previousName);
+        List<BookChangedEvent> changes = new ArrayList<>();
+        try (Stream<Book> books = mongoTemplate.stream(query, Book.class)) {
+            for (Book after : (Iterable<Book>) books::iterator) {
+                Book before = BookService.copyOf(after);
+                if (reference == Reference.AUTHOR) {
+                    before.setAuthorRef(previous);
+                } else {
+                    before.setCategoryRef(previous);
+                }
+                before.setVersion(after.getVersion() != null ? after.getVersion() - 1 : null);
+                changes.add(BookChangedEvent.updated(before, after));
+                if (changes.size() == EVENT_CHUNK_SIZE) {
+                    eventPublisher.publishEvent(new BooksChangedEvent(changes));
+                    changes.clear();
+                }
+            }
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new BooksChangedEvent(changes));
+        }
+        return modified;
+    }
+}
@@ -1,31 +1,58 @@
 package com.kaushik.restapis.bookstore_management.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kaushik.restapis.bookstore_management.dto.BatchResultDTO;
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
 import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
 import com.kaushik.restapis.bookstore_management.repository.CategoryRepository;
+import com.kaushik.restapis.bookstore_management.service.cache.LookupCaches;
+import com.kaushik.restapis.bookstore_management.service.pagination.KeysetPaginator;
 
 @Service // Indicate that this class is a service component in Spring
 @Transactional
 public class CategoryService {
 
+    //Sort keys usable with cursor pagination; each has a {key: 1, _id: 1} index on Category
+    static final Map<String, String> KEYSET_SORT_KEYS = Map.of("id", "id", "name", "name");
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private LookupCaches lookupCaches;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BookSnapshotSync bookSnapshotSync;
+
     //Create new category
     public Category createCategory(Category category) {
         //check if category with same name exists
         if (categoryRepository.existsByNameIgnoreCase(category.getName())) {
             throw new RuntimeException("Category with name " + category.getName() + " already exists");
         }
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.created(savedCategory));
+        return savedCategory;
     }
 
     //Get all categories
@@ -40,8 +67,30 @@ public class CategoryService {
         return categoryRepository.findAll(pageable);
     }
 
+    //Get categories with cursor (keyset) pagination
+    @Transactional(readOnly = true)
+    public KeysetPage<Category> getCategoriesPage(String cursor, int size, String sortBy, String sortDir) {
+        return keysetPaginator.page(Category.class, Category.class, null, cursor, size, sortBy, sortDir, KEYSET_SORT_KEYS);
+    }
+
+    //Get categories by ids in request order through the cache; one $in query for the misses
+    @Transactional(readOnly = true)
+    public BatchResultDTO<Category> getCategoriesBatch(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Provide ids");
+        }
+        return BatchResultDTO.of(ids, lookupCaches.getAll(LookupCaches.CATEGORIES, ids, Category.class, misses -> {
+            Map<String, Category> byId = new HashMap<>();
+            for (Category category : categoryRepository.findAllById(misses)) {
+                byId.put(category.getId(), category);
+            }
+            return byId;
+        }));
+    }
+
     //Get category by id
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LookupCaches.CATEGORIES, sync = true)
     public Category getCategoryById(String id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id " + id));
@@ -56,15 +105,30 @@ public class CategoryService {
             throw new RuntimeException("Category with name " + categoryDetails.getName() + " already exists");
         }
 
+        String previousName = category.getName();
+        boolean renamed = !Objects.equals(previousName, categoryDetails.getName());
         category.setName(categoryDetails.getName());
         category.setDescription(categoryDetails.getDescription());
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        if (renamed) {
+            syncBookSnapshots(savedCategory, previousName);
+        }
+        eventPublisher.publishEvent(CategoryChangedEvent.updated(previousName, savedCategory));
+        return savedCategory;
+    }
+
+    //Rewrite the embedded category snapshot of every affected book and publish the rewritten books
+    public long syncBookSnapshots(Category category, String previousName) {
+        return bookSnapshotSync.rewrite(BookSnapshotSync.Reference.CATEGORY, category.getId(), previousName, category.getName());
     }
 
     //Delete Category
     public void deleteCategory(String id) {
         Category category = getCategoryById(id);
         categoryRepository.delete(category); //categoryRepository has delete method because it extends JpaRepository and it interact with database
+        // Books keep the category id but no longer show the deleted name
+        bookSnapshotSync.rewrite(BookSnapshotSync.Reference.CATEGORY, category.getId(), category.getName(), null);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(category));
     }
 
     //Search categories by name
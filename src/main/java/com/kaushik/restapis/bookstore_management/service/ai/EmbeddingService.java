@@ -2,9 +2,13 @@ package com.kaushik.restapis.bookstore_management.service.ai;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface EmbeddingService {
 
     // Return embedding vector as list of doubles
     List<Double> embedText(String text) throws IOException, InterruptedException;
+
+    // Same, without holding the calling thread while the provider answers
+    CompletableFuture<List<Double>> embedTextAsync(String text);
 }
@@ -9,6 +9,9 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
@@ -40,31 +43,19 @@ public class HuggingFaceEmbeddingService implements EmbeddingService {
     // Correct Hugging Face Inference API endpoint
     private static final String API_URL = "https://api-inference.huggingface.co/models/" + MODEL_ID;
 
+    // Attempts while the model is loading (503), starting delay doubled after each
+    private static final int MAX_RETRIES = 3;
+    private static final int RETRY_DELAY_MS = 3000;
+
     @Override
     public List<Double> embedText(String text) throws IOException, InterruptedException {
-        if (huggingfaceApiKey == null || huggingfaceApiKey.isBlank()) {
-            throw new IllegalStateException("Hugging Face API key not configured (huggingface.api.key)");
-        }
-
-        // BAAI/bge-small-en-v1.5 expects JSON with "inputs" field as a string
-        String payload = mapper.writeValueAsString(
-                java.util.Map.of("inputs", text)
-        );
-
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
-                .header("Content-Type", "application/json")
-                .header("Authorization", "Bearer " + huggingfaceApiKey)
-                .timeout(Duration.ofSeconds(30))
-                .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
-                .build();
+        HttpRequest req = request(text);
 
         // Retry logic for model loading (503 errors)
         HttpResponse<String> resp = null;
-        int maxRetries = 3;
-        int retryDelayMs = 3000;
+        int retryDelayMs = RETRY_DELAY_MS;
 
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
             resp = http.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
 
             System.out.println("DEBUG [Attempt " + attempt + "]: Status=" + resp.statusCode());
@@ -76,7 +67,7 @@ public class HuggingFaceEmbeddingService implements EmbeddingService {
             }
 
             // Model loading (503) - retry if attempts remain
-            if (resp.statusCode() == 503 && attempt < maxRetries) {
+            if (resp.statusCode() == 503 && attempt < MAX_RETRIES) {
                 System.out.println("DEBUG: Model loading, waiting " + retryDelayMs + "ms before retry " + (attempt + 1));
                 Thread.sleep(retryDelayMs);
                 retryDelayMs *= 2; // Exponential backoff
@@ -84,14 +75,69 @@ public class HuggingFaceEmbeddingService implements EmbeddingService {
             }
 
             // Any other error or final attempt - throw
-            String errorDetails = String.format(
-                    "Hugging Face API failed (attempt %d/%d): HTTP %d - %s",
-                    attempt, maxRetries, resp.statusCode(), resp.body()
-            );
-            System.err.println("ERROR: " + errorDetails);
-            throw new IOException(errorDetails);
+            throw failure(attempt, resp);
+        }
+
+        return parse(resp);
+    }
+
+    @Override
+    public CompletableFuture<List<Double>> embedTextAsync(String text) {
+        try {
+            return sendAsync(request(text), 1, RETRY_DELAY_MS);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
+    }
+
+    // One attempt of embedTextAsync; a 503 is retried after the same backoff, on a timer instead of a sleeping thread
+    private CompletableFuture<List<Double>> sendAsync(HttpRequest req, int attempt, int retryDelayMs) {
+        return http.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).thenCompose(resp -> {
+            if (resp.statusCode() == 503 && attempt < MAX_RETRIES) {
+                Executor delayed = CompletableFuture.delayedExecutor(retryDelayMs, TimeUnit.MILLISECONDS);
+                return CompletableFuture.runAsync(() -> { }, delayed)
+                        .thenCompose(ignored -> sendAsync(req, attempt + 1, retryDelayMs * 2));
+            }
+            if (resp.statusCode() != 200) {
+                return CompletableFuture.failedFuture(failure(attempt, resp));
+            }
+            try {
+                return CompletableFuture.completedFuture(parse(resp));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    private HttpRequest request(String text) throws IOException {
+        if (huggingfaceApiKey == null || huggingfaceApiKey.isBlank()) {
+            throw new IllegalStateException("Hugging Face API key not configured (huggingface.api.key)");
+        }
+
+        // BAAI/bge-small-en-v1.5 expects JSON with "inputs" field as a string
+        String payload = mapper.writeValueAsString(
+                java.util.Map.of("inputs", text)
+        );
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(API_URL))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + huggingfaceApiKey)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static IOException failure(int attempt, HttpResponse<String> resp) {
+        String errorDetails = String.format(
+                "Hugging Face API failed (attempt %d/%d): HTTP %d - %s",
+                attempt, MAX_RETRIES, resp.statusCode(), resp.body()
+        );
+        System.err.println("ERROR: " + errorDetails);
+        return new IOException(errorDetails);
+    }
 
+    private List<Double> parse(HttpResponse<String> resp) throws IOException {
         if (resp.statusCode() / 100 != 2) {
             throw new IOException("Hugging Face embeddings request failed: " + resp.statusCode() + " " + resp.body());
         }
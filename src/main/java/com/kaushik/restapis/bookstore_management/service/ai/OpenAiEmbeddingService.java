@@ -9,6 +9,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -30,6 +31,27 @@ public class OpenAiEmbeddingService implements EmbeddingService {
 
     @Override
     public List<Double> embedText(String text) throws IOException, InterruptedException {
+        HttpResponse<String> resp = http.send(request(text), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return parse(resp);
+    }
+
+    @Override
+    public CompletableFuture<List<Double>> embedTextAsync(String text) {
+        try {
+            return http.sendAsync(request(text), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .thenCompose(resp -> {
+                        try {
+                            return CompletableFuture.completedFuture(parse(resp));
+                        } catch (IOException e) {
+                            return CompletableFuture.failedFuture(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private HttpRequest request(String text) throws IOException {
         if (openaiApiKey == null || openaiApiKey.isBlank()) {
             throw new IllegalStateException("OPENAI API key not configured (openai.api.key)");
         }
@@ -40,15 +62,16 @@ public class OpenAiEmbeddingService implements EmbeddingService {
                 java.util.Map.of("model", "text-embedding-3-small", "input", text)
         );
 
-        HttpRequest req = HttpRequest.newBuilder()
+        return HttpRequest.newBuilder()
                 .uri(URI.create(endpoint))
                 .header("Content-Type", "application/json")
                 .header("Authorization", "Bearer " + openaiApiKey)
                 .timeout(Duration.ofSeconds(30))
                 .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
                 .build();
+    }
 
-        HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    private List<Double> parse(HttpResponse<String> resp) throws IOException {
         if (resp.statusCode() / 100 != 2) {
             throw new IOException("OpenAI embeddings request failed: " + resp.statusCode() + " " + resp.body());
         }
@@ -0,0 +1,59 @@
+package com.kaushik.restapis.bookstore_management.service.ai;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.kaushik.restapis.bookstore_management.repository.projection.BookEmbedding;
+
+/**
+ * Cosine-similarity ranking of books against an embedding, shared by the
+ * blocking and reactive AI endpoints.
+ */
+public final class SimilarityRanker {
+
+    private SimilarityRanker() {
+    }
+
+    // The size best-scoring candidates as {bookId, score, title}, best first; excludeId may be null
+    public static List<Map<String, Object>> top(List<Double> query, Iterable<BookEmbedding> candidates,
+            String excludeId, int size) {
+        List<Map<String, Object>> scored = new ArrayList<>();
+        for (BookEmbedding c : candidates) {
+            if (c.getId().equals(excludeId)) {
+                continue;
+            }
+            Map<String, Object> m = new HashMap<>();
+            m.put("bookId", c.getId());
+            m.put("score", cosineSimilarity(query, c.getEmbedding()));
+            m.put("title", c.getTitle());
+            scored.add(m);
+        }
+
+        scored.sort(Comparator.comparingDouble(m -> -((Number) m.get("score")).doubleValue()));
+        return scored.stream().limit(size).collect(Collectors.toList());
+    }
+
+    public static double cosineSimilarity(List<Double> a, List<Double> b) {
+        if (a == null || b == null || a.size() != b.size()) {
+            return 0.0;
+        }
+        double dot = 0.0;
+        double na = 0.0;
+        double nb = 0.0;
+        for (int i = 0; i < a.size(); i++) {
+            double va = a.get(i);
+            double vb = b.get(i);
+            dot += va * vb;
+            na += va * va;
+            nb += vb * vb;
+        }
+        if (na == 0 || nb == 0) {
+            return 0.0;
+        }
+        return dot / (Math.sqrt(na) * Math.sqrt(nb));
+    }
+}
@@ -0,0 +1,326 @@
+package com.kaushik.restapis.bookstore_management.service.bulk;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.kaushik.restapis.bookstore_management.dto.BookBulkUpdateDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookBulkUpdateReportDTO;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.repository.BookRepositoryImpl;
+import com.kaushik.restapis.bookstore_management.service.BookService;
+import com.kaushik.restapis.bookstore_management.service.changes.ChangeTransactions;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+/**
+ * Price and stock changes for every book matching a filter. Matching books
+ * are streamed in chunks; each chunk computes the new values in memory and
+ * writes them with one unordered bulk of updateOne calls, each guarded by the
+ * version it was computed from. A book changed by someone else in between is
+ * skipped and reported rather than overwritten.
+ *
+ * Chunks are independent: a failure part way leaves earlier chunks applied.
+ * Each chunk's writes and its change events run in one transaction when
+ * transactions are enabled (see ChangeTransactions), so caches, indexes, the
+ * change feed and the statistics see bulk edits like any other.
+ */
+@Service
+public class BookBulkUpdateService {
+
+    // Books per read/compute/bulk-write round trip
+    static final int CHUNK_SIZE = 1000;
+
+    // Ids kept in the report; the counters still cover every book
+    static final int MAX_REPORTED_IDS = 10000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeTransactions changeTransactions;
+
+    public BookBulkUpdateReportDTO update(BookBulkUpdateDTO request) {
+        long start = System.currentTimeMillis();
+        Operation operation = Operation.of(request);
+        Query query = Query.query(filter(request));
+        query.fields().exclude("embedding");
+        if (request.getLanguage() != null) {
+            query.collation(BookRepositoryImpl.CASE_INSENSITIVE);
+        }
+
+        BookBulkUpdateReportDTO report = new BookBulkUpdateReportDTO(request.isDryRun());
+        // Stamped on every book this run writes, like InventoryService's stockFlush
+        String token = new ObjectId().toHexString();
+        List<Book> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Book> books = mongoTemplate.stream(query, Book.class)) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                chunk.add(book);
+                if (chunk.size() == CHUNK_SIZE) {
+                    apply(chunk, operation, token, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            apply(chunk, operation, token, report);
+        }
+        report.setDurationMs(System.currentTimeMillis() - start);
+        System.out.println("BookBulkUpdateService: " + operation.field + " of " + report.getModified() + " of "
+                + report.getMatched() + " matched books " + (request.isDryRun() ? "would be " : "") + "updated in "
+                + report.getDurationMs() + " ms");
+        return report;
+    }
+
+    private void apply(List<Book> chunk, Operation operation, String token, BookBulkUpdateReportDTO report) {
+        report.setMatched(report.getMatched() + chunk.size());
+        List<Book> befores = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (Book book : chunk) {
+            Object value = operation.apply(book);
+            if (value == null) {
+                skip(report, book.getId(), operation.field.equals("price")
+                        ? "Price would drop to zero or below" : "Stock would drop below zero");
+            } else {
+                befores.add(book);
+                values.add(value);
+            }
+        }
+        if (report.isDryRun()) {
+            befores.forEach(book -> modified(report, book.getId()));
+            return;
+        }
+        if (befores.isEmpty()) {
+            return;
+        }
+
+        List<Book> attempt = befores;
+        List<Object> attemptValues = values;
+        while (!attempt.isEmpty()) {
+            List<Book> chunkBefores = attempt;
+            List<Object> chunkValues = attemptValues;
+            ChunkResult result = new ChunkResult();
+            try {
+                changeTransactions.run(() -> write(chunkBefores, chunkValues, operation, token, result));
+            } catch (BulkOperationException ex) {
+                // In a transaction a failed update aborts the whole chunk: skip those books and retry the rest
+                Set<Integer> failed = new HashSet<>();
+                for (BulkWriteError error : ex.getErrors()) {
+                    failed.add(error.getIndex());
+                    skip(report, chunkBefores.get(error.getIndex()).getId(), "Write failed");
+                }
+                attempt = new ArrayList<>();
+                attemptValues = new ArrayList<>();
+                for (int i = 0; i < chunkBefores.size(); i++) {
+                    if (!failed.contains(i)) {
+                        attempt.add(chunkBefores.get(i));
+                        attemptValues.add(chunkValues.get(i));
+                    }
+                }
+                continue;
+            }
+            // Reported once committed
+            result.modified.forEach(id -> modified(report, id));
+            result.skipped.forEach(skipped -> skip(report, skipped.getId(), skipped.getReason()));
+            return;
+        }
+    }
+
+    // One bulk for the chunk plus its change event; the outcome goes into result
+    private void write(List<Book> befores, List<Object> values, Operation operation, String token, ChunkResult result) {
+        // Millisecond precision so the published state equals what Mongo stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Book.class);
+        for (int i = 0; i < befores.size(); i++) {
+            Book before = befores.get(i);
+            bulk.updateOne(Query.query(Criteria.where("id").is(before.getId()).and("version").is(before.getVersion())),
+                    new Update().set(operation.field, values.get(i)).inc("version", 1).set("updatedAt", now)
+                            .set("bulkUpdate", token));
+        }
+        Set<Integer> failed = new HashSet<>();
+        int matched;
+        try {
+            BulkWriteResult bulkResult = bulk.execute();
+            matched = bulkResult.getMatchedCount();
+        } catch (BulkOperationException ex) {
+            if (changeTransactions.isEnabled()) {
+                throw ex;
+            }
+            for (BulkWriteError error : ex.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            matched = ex.getResult().getMatchedCount();
+        }
+
+        // Fast path: every guarded update matched; otherwise the token tells which ones did, even if edited since
+        Map<String, Book> written = matched == befores.size() ? null : readBack(befores);
+        List<BookChangedEvent> changes = new ArrayList<>();
+        for (int i = 0; i < befores.size(); i++) {
+            Book before = befores.get(i);
+            if (written != null) {
+                Book current = written.get(before.getId());
+                if (failed.contains(i) || current == null || !token.equals(current.getBulkUpdate())) {
+                    result.skipped.add(new BookBulkUpdateReportDTO.SkippedBook(before.getId(),
+                            failed.contains(i) ? "Write failed" : "Modified concurrently"));
+                    continue;
+                }
+            }
+            // Exactly what this update wrote; a later edit by someone else publishes its own event
+            Book after = BookService.copyOf(before);
+            setValue(after, operation.field, values.get(i));
+            after.setVersion(before.getVersion() != null ? before.getVersion() + 1 : 1L);
+            after.setUpdatedAt(now);
+            result.modified.add(before.getId());
+            changes.add(BookChangedEvent.updated(before, after));
+        }
+        // One event per chunk: the change log, counters and stats write once for it
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new BooksChangedEvent(changes));
+        }
+    }
+
+    private Map<String, Book> readBack(List<Book> books) {
+        Query query = Query.query(Criteria.where("id").in(books.stream().map(Book::getId).toList()));
+        query.fields().exclude("embedding");
+        Map<String, Book> byId = new HashMap<>();
+        for (Book book : mongoTemplate.find(query, Book.class)) {
+            byId.put(book.getId(), book);
+        }
+        return byId;
+    }
+
+    private static Criteria filter(BookBulkUpdateDTO request) {
+        List<Criteria> clauses = new ArrayList<>();
+        // DBRef equality, same shape as BookSearchCriteria
+        if (request.getCategoryId() != null) {
+            clauses.add(Criteria.where("category.id").is(request.getCategoryId()));
+        }
+        if (request.getAuthorId() != null) {
+            clauses.add(Criteria.where("author.id").is(request.getAuthorId()));
+        }
+        if (request.getLanguage() != null) {
+            clauses.add(Criteria.where("language").is(request.getLanguage()));
+        }
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            clauses.add(Criteria.where("id").in(request.getIds()));
+        }
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("At least one of categoryId, authorId, language or ids is required");
+        }
+        return clauses.size() == 1 ? clauses.get(0) : new Criteria().andOperator(clauses);
+    }
+
+    private static void modified(BookBulkUpdateReportDTO report, String id) {
+        report.setModified(report.getModified() + 1);
+        if (report.getIds().size() < MAX_REPORTED_IDS) {
+            report.getIds().add(id);
+        } else {
+            report.setIdsTruncated(true);
+        }
+    }
+
+    private static void skip(BookBulkUpdateReportDTO report, String id, String reason) {
+        report.setSkipped(report.getSkipped() + 1);
+        if (report.getSkippedBooks().size() < MAX_REPORTED_IDS) {
+            report.getSkippedBooks().add(new BookBulkUpdateReportDTO.SkippedBook(id, reason));
+        } else {
+            report.setIdsTruncated(true);
+        }
+    }
+
+    private static void setValue(Book book, String field, Object value) {
+        if (field.equals("price")) {
+            book.setPrice((BigDecimal) value);
+        } else {
+            book.setStockQuantity((Integer) value);
+        }
+    }
+
+    // What one chunk wrote, applied to the report only after it committed
+    private static final class ChunkResult {
+
+        final List<String> modified = new ArrayList<>();
+        final List<BookBulkUpdateReportDTO.SkippedBook> skipped = new ArrayList<>();
+    }
+
+    // The one change requested, as a function from a book to its new value (null: not allowed)
+    private static final class Operation {
+
+        final String field;
+        private final Function<Book, Object> compute;
+
+        private Operation(String field, Function<Book, Object> compute) {
+            this.field = field;
+            this.compute = compute;
+        }
+
+        Object apply(Book book) {
+            return compute.apply(book);
+        }
+
+        static Operation of(BookBulkUpdateDTO request) {
+            int given = (request.getPricePercent() != null ? 1 : 0) + (request.getPriceAmount() != null ? 1 : 0)
+                    + (request.getStockSet() != null ? 1 : 0) + (request.getStockIncrement() != null ? 1 : 0);
+            if (given != 1) {
+                throw new IllegalArgumentException(
+                        "Exactly one of pricePercent, priceAmount, stockSet or stockIncrement is required");
+            }
+            if (request.getPricePercent() != null) {
+                BigDecimal factor = BigDecimal.ONE.add(request.getPricePercent().movePointLeft(2));
+                if (factor.signum() <= 0) {
+                    throw new IllegalArgumentException("pricePercent must be greater than -100");
+                }
+                return new Operation("price", book -> positive(price(book).multiply(factor).setScale(2, RoundingMode.HALF_UP)));
+            }
+            if (request.getPriceAmount() != null) {
+                BigDecimal amount = request.getPriceAmount();
+                return new Operation("price", book -> positive(price(book).add(amount).setScale(2, RoundingMode.HALF_UP)));
+            }
+            if (request.getStockSet() != null) {
+                int stock = request.getStockSet();
+                if (stock < 0) {
+                    throw new IllegalArgumentException("stockSet must be zero or more");
+                }
+                return new Operation("stockQuantity", book -> stock);
+            }
+            int delta = request.getStockIncrement();
+            return new Operation("stockQuantity", book -> {
+                long stock = (long) (book.getStockQuantity() != null ? book.getStockQuantity() : 0) + delta;
+                return stock < 0 || stock > Integer.MAX_VALUE ? null : (Object) (int) stock;
+            });
+        }
+
+        private static BigDecimal price(Book book) {
+            return book.getPrice() != null ? book.getPrice() : BigDecimal.ZERO;
+        }
+
+        private static BigDecimal positive(BigDecimal price) {
+            return price.signum() > 0 ? price : null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.kaushik.restapis.bookstore_management.service.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
+
+/**
+ * Names of the read-through caches in front of the single-entity lookups
+ * (see the {@code @Cacheable} methods in the services) and their
+ * invalidation. Size and TTL come from {@code spring.cache.caffeine.spec}.
+ *
+ * Every write path publishes a change event after saving, so evicting here
+ * covers creates, updates, deletes and bulk imports in one place. Inside a
+ * transaction the eviction waits for the commit; evicting earlier would let
+ * a concurrent read cache the old value again for the whole TTL. Book DTOs
+ * carry the author and category names, so a rename drops all cached books.
+ * Facet counts span many books, so any change to a faceted or filtered field
+ * drops them all; stock-only updates (the bulk of writes) keep them.
+ */
+@Component
+public class LookupCaches {
+
+    public static final String BOOKS = "books";
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String AUTHORS = "authors";
+    public static final String CATEGORIES = "categories";
+    public static final String BOOK_FACETS = "bookFacets";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        evict(BOOKS, event.getBookId());
+        evictIsbn(event.getBefore());
+        evictIsbn(event.getAfter());
+        if (changesFacets(event)) {
+            clear(BOOK_FACETS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        boolean facets = false;
+        for (BookChangedEvent change : event.getChanges()) {
+            evict(BOOKS, change.getBookId());
+            evictIsbn(change.getBefore());
+            evictIsbn(change.getAfter());
+            facets |= changesFacets(change);
+        }
+        if (facets) {
+            clear(BOOK_FACETS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        evict(AUTHORS, event.getAuthor().getId());
+        if (event.isRenamed() || event.getType() == AuthorChangedEvent.ChangeType.DELETED) {
+            clear(BOOKS);
+            clear(BOOKS_BY_ISBN);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(CATEGORIES, event.getCategory().getId());
+        if (event.isRenamed() || event.getType() == CategoryChangedEvent.ChangeType.DELETED) {
+            clear(BOOKS);
+            clear(BOOKS_BY_ISBN);
+            clear(BOOK_FACETS);
+        }
+    }
+
+    // Multi-get through a cache: hits come from the cache, all misses from one loader call, which are then cached
+    public <T> Map<String, T> getAll(String cacheName, Collection<String> keys, Class<T> type,
+            Function<List<String>, Map<String, T>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Map<String, T> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            T value = cache != null && key != null ? cache.get(key, type) : null;
+            if (value != null) {
+                found.put(key, value);
+            } else if (key != null) {
+                misses.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<String, T> loaded = loader.apply(misses);
+            for (Map.Entry<String, T> entry : loaded.entrySet()) {
+                found.put(entry.getKey(), entry.getValue());
+                if (cache != null) {
+                    // Same entry the single lookup would cache; don't replace one loaded meanwhile
+                    cache.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return found;
+    }
+
+    // Cached value or null, never loading; for callers that load asynchronously themselves
+    public <T> T peek(String cacheName, String key, Class<T> type) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache != null && key != null ? cache.get(key, type) : null;
+    }
+
+    // Store a value loaded by such a caller, unless one was loaded meanwhile
+    public void putIfAbsent(String cacheName, String key, Object value) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null && value != null) {
+            cache.putIfAbsent(key, value);
+        }
+    }
+
+    // Hit/miss/eviction counters and current size per cache
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeine)) {
+                continue;
+            }
+            CacheStats s = caffeine.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", caffeine.getNativeCache().estimatedSize());
+            entry.put("hits", s.hitCount());
+            entry.put("misses", s.missCount());
+            entry.put("hitRate", s.hitRate());
+            entry.put("loads", s.loadCount());
+            entry.put("averageLoadMillis", s.averageLoadPenalty() / 1_000_000.0);
+            entry.put("evictions", s.evictionCount());
+            stats.put(name, entry);
+        }
+        return stats;
+    }
+
+    public void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            clear(name);
+        }
+    }
+
+    // Anything that can move a book between facet values or in/out of a filter
+    private static boolean changesFacets(BookChangedEvent event) {
+        Book before = event.getBefore();
+        Book after = event.getAfter();
+        if (before == null || after == null) {
+            return true;
+        }
+        return !Objects.equals(before.getTitle(), after.getTitle())
+                || !Objects.equals(before.getLanguage(), after.getLanguage())
+                || !Objects.equals(before.getPublicationYear(), after.getPublicationYear())
+                || !samePrice(before.getPrice(), after.getPrice())
+                || !sameRef(before.getAuthorRef(), after.getAuthorRef())
+                || !sameRef(before.getCategoryRef(), after.getCategoryRef());
+    }
+
+    private static boolean samePrice(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static boolean sameRef(EntityRef a, EntityRef b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.getId(), b.getId()) && Objects.equals(a.getName(), b.getName());
+    }
+
+    private void evictIsbn(Book book) {
+        if (book != null && book.getIsbn() != null) {
+            evict(BOOKS_BY_ISBN, book.getIsbn());
+        }
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.kaushik.restapis.bookstore_management.service.changes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.kaushik.restapis.bookstore_management.dto.ChangeFeedDTO;
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.entity.ChangeLogEntry;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
+import com.kaushik.restapis.bookstore_management.exceptions.ChangeFeedExpiredException;
+import com.kaushik.restapis.bookstore_management.service.counter.ChangeCounterService;
+
+/**
+ * Append-only log of every book, author and category change, read by sync
+ * consumers as "everything after token n". Entries are written by the change
+ * event listeners below, which run synchronously in the thread (and, with
+ * {@code bookstore.changes.transactional=true}, the transaction) of the
+ * service method that made the change.
+ *
+ * Sequence numbers come from a shared counter and are taken before the entry
+ * is inserted, so a reader can briefly see n+2 while n+1 is still being
+ * written. Reads therefore stop at the first missing number, unless the entry
+ * after it is older than {@code gap-timeout-ms}; by then the missing one was
+ * rolled back or lost, not late.
+ *
+ * Author and category renames are logged once; books carry the names, so
+ * consumers apply the rename to their copies of the affected books.
+ */
+@Service
+public class ChangeLogService {
+
+    static final String SEQUENCE = "change_log";
+    // Highest sequence number removed by trim(); older tokens get 410 Gone
+    static final String TRIMMED = "change_log_trimmed";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ChangeCounterService counterService;
+
+    @Value("${bookstore.changes.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${bookstore.changes.retention-days:7}")
+    private int retentionDays;
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        append(List.of(toEntry(event)));
+    }
+
+    // One sequence range and one insert for the whole batch
+    @EventListener
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (!event.getChanges().isEmpty()) {
+            append(event.getChanges().stream().map(ChangeLogService::toEntry).toList());
+        }
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        Author author = event.getAuthor();
+        Map<String, Object> data = null;
+        if (event.getType() != AuthorChangedEvent.ChangeType.DELETED) {
+            data = new LinkedHashMap<>();
+            data.put("name", author.getName());
+            data.put("bio", author.getBio());
+            data.put("nationality", author.getNationality());
+            data.put("version", author.getVersion());
+        }
+        append(List.of(new ChangeLogEntry("author", event.getType().name(), author.getId(), data)));
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        Category category = event.getCategory();
+        Map<String, Object> data = null;
+        if (event.getType() != CategoryChangedEvent.ChangeType.DELETED) {
+            data = new LinkedHashMap<>();
+            data.put("name", category.getName());
+            data.put("description", category.getDescription());
+            data.put("version", category.getVersion());
+        }
+        append(List.of(new ChangeLogEntry("category", event.getType().name(), category.getId(), data)));
+    }
+
+    // Changes after the given token, oldest first; a null token starts at the oldest retained change
+    public ChangeFeedDTO getChanges(String since, int limit) {
+        long trimmed = counterService.current(TRIMMED);
+        long head = counterService.current(SEQUENCE);
+        long from = since == null || since.isBlank() ? trimmed : parseToken(since);
+        if (from > head) {
+            throw new ChangeFeedExpiredException("Token " + since + " is ahead of the change log; resync from a full read");
+        }
+        if (from < trimmed) {
+            throw new ChangeFeedExpiredException("Changes after " + since + " have been trimmed; resync from a full read");
+        }
+
+        Query query = Query.query(Criteria.where("_id").gt(from))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        LocalDateTime settled = LocalDateTime.now().minusNanos(gapTimeoutMs * 1_000_000);
+        List<ChangeLogEntry> changes = new ArrayList<>();
+        long next = from;
+        for (ChangeLogEntry entry : mongoTemplate.find(query, ChangeLogEntry.class)) {
+            if (entry.getSeq() != next + 1 && entry.getAt().isAfter(settled)) {
+                break;
+            }
+            changes.add(entry);
+            next = entry.getSeq();
+        }
+        return new ChangeFeedDTO(changes, String.valueOf(next), next < head);
+    }
+
+    // Token for "now"; a consumer doing a full read takes this first and follows the feed from it
+    public String getHeadToken() {
+        return String.valueOf(counterService.current(SEQUENCE));
+    }
+
+    // Drop entries older than the retention period; readers behind them get 410 Gone
+    @Scheduled(initialDelayString = "${bookstore.changes.trim-interval-ms:3600000}",
+            fixedDelayString = "${bookstore.changes.trim-interval-ms:3600000}")
+    public void trim() {
+        Query lastExpired = Query.query(Criteria.where("at").lt(LocalDateTime.now().minusDays(retentionDays)))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(1);
+        ChangeLogEntry entry = mongoTemplate.findOne(lastExpired, ChangeLogEntry.class);
+        if (entry == null) {
+            return;
+        }
+        // Raise the mark first so nobody reads past the hole while it is being cut
+        counterService.raise(TRIMMED, entry.getSeq());
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("_id").lte(entry.getSeq())),
+                ChangeLogEntry.class).getDeletedCount();
+        System.out.println("ChangeLogService: trimmed " + removed + " changes up to " + entry.getSeq());
+    }
+
+    private void append(List<ChangeLogEntry> entries) {
+        long seq = counterService.increment(SEQUENCE, entries.size()) - entries.size();
+        LocalDateTime now = LocalDateTime.now();
+        for (ChangeLogEntry entry : entries) {
+            entry.setSeq(++seq);
+            entry.setAt(now);
+        }
+        mongoTemplate.insertAll(entries);
+    }
+
+    private static ChangeLogEntry toEntry(BookChangedEvent event) {
+        Map<String, Object> data = null;
+        if (event.getType() == BookChangedEvent.ChangeType.CREATED) {
+            data = snapshot(event.getAfter());
+        } else if (event.getType() == BookChangedEvent.ChangeType.UPDATED) {
+            data = diff(snapshot(event.getBefore()), snapshot(event.getAfter()));
+        }
+        return new ChangeLogEntry("book", event.getType().name(), event.getBookId(), data);
+    }
+
+    private static long parseToken(String token) {
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid change token: " + token);
+        }
+    }
+
+    // Same field names as BookDTO, minus the embedding
+    private static Map<String, Object> snapshot(Book book) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("title", book.getTitle());
+        data.put("isbn", book.getIsbn());
+        data.put("description", book.getDescription());
+        data.put("price", book.getPrice());
+        data.put("publicationYear", book.getPublicationYear());
+        data.put("stockQuantity", book.getStockQuantity());
+        data.put("pages", book.getPages());
+        data.put("language", book.getLanguage());
+        data.put("authorId", book.getAuthorRef() != null ? book.getAuthorRef().getId() : null);
+        data.put("authorName", book.getAuthorRef() != null ? book.getAuthorRef().getName() : null);
+        data.put("categoryId", book.getCategoryRef() != null ? book.getCategoryRef().getId() : null);
+        data.put("categoryName", book.getCategoryRef() != null ? book.getCategoryRef().getName() : null);
+        data.put("version", book.getVersion());
+        // As a string: a LocalDateTime inside a map would come back from Mongo as a zoned Date
+        data.put("updatedAt", book.getUpdatedAt() != null ? book.getUpdatedAt().toString() : null);
+        return data;
+    }
+
+    // Fields of after that differ from before
+    private static Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : after.entrySet()) {
+            Object old = before.get(field.getKey());
+            Object now = field.getValue();
+            boolean same = old instanceof BigDecimal a && now instanceof BigDecimal b
+                    ? a.compareTo(b) == 0
+                    : Objects.equals(old, now);
+            if (!same) {
+                changed.put(field.getKey(), now);
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,51 @@
+package com.kaushik.restapis.bookstore_management.service.changes;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Runs one chunk of a batch write (import, bulk update, inventory flush)
+ * together with the change events it publishes. With
+ * bookstore.changes.transactional=true that is one MongoDB transaction, so
+ * the chunk's documents and its change log entries commit or roll back
+ * together; these paths are not @Transactional methods because each chunk
+ * commits on its own. Without a transaction manager the work just runs.
+ */
+@Component
+public class ChangeTransactions {
+
+    // Only present with bookstore.changes.transactional=true (see MongoTransactionConfig)
+    @Autowired(required = false)
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate template;
+
+    @PostConstruct
+    void init() {
+        if (transactionManager != null) {
+            template = new TransactionTemplate(transactionManager);
+        }
+    }
+
+    // True when writes run in real transactions: a write error then aborts the whole chunk
+    public boolean isEnabled() {
+        return template != null;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        return template != null ? template.execute(status -> work.get()) : work.get();
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
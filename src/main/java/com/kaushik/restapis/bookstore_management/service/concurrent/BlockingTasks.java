@@ -0,0 +1,84 @@
+package com.kaushik.restapis.bookstore_management.service.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs independent blocking calls (Mongo reads, embedding requests) of one
+ * request side by side. Backed by virtual threads or a small platform pool,
+ * see VirtualThreadConfig. Deliberately not an Executor bean, so Boot's
+ * applicationTaskExecutor stays in place.
+ *
+ * Inside an active transaction tasks run on the calling thread instead: the
+ * Mongo ClientSession is bound to that thread, so a forked read would run
+ * outside the transaction and miss its uncommitted writes.
+ */
+public class BlockingTasks {
+
+    private final ExecutorService executor;
+
+    public BlockingTasks(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return runInline(task);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        }, executor);
+    }
+
+    // Same outcome as a forked task, so join rethrows the task's own exception
+    private static <T> CompletableFuture<T> runInline(Callable<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.call());
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    // Result of a submitted task; its own exception is rethrown as is, e.g. ResourceNotFoundException
+    public static <T> T join(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    // Same, for tasks that only throw unchecked exceptions
+    public static <T> T joinUnchecked(Future<T> future) {
+        try {
+            return join(future);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", ex);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,89 @@
+package com.kaushik.restapis.bookstore_management.service.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory index rebuilt from the database on a schedule and patched
+ * from change events in between. A rebuild streams the catalog without
+ * blocking writers; the changes that arrive meanwhile are buffered and
+ * replayed onto the new build, under the same lock writers take, before it
+ * is swapped in. Only one rebuild runs at a time.
+ *
+ * Writers take a lock rather than synchronized so waiting ones don't pin
+ * virtual threads.
+ *
+ * @param <B> what {@link #load} builds
+ * @param <E> the change events the index applies
+ */
+public abstract class RebuildableIndex<B, E> {
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    // Changes seen while a rebuild runs, replayed onto its result; null when no rebuild is running (guarded by updateLock)
+    private List<E> pending;
+
+    // Streams a fresh build from the database; runs without the lock
+    protected abstract B load();
+
+    // Replays the changes that arrived during load onto the build and swaps it in; runs under the lock
+    protected abstract void install(B build, List<E> missed);
+
+    // Applies one change to the live index; runs under the lock
+    protected abstract void apply(E event);
+
+    // Applies a batch to the live index; override when a batch is cheaper applied at once
+    protected void applyAll(List<? extends E> events) {
+        events.forEach(this::apply);
+    }
+
+    // True if a new build was swapped in; false if another rebuild was running or this one failed
+    protected final boolean reload() {
+        updateLock.lock();
+        try {
+            if (pending != null) {
+                return false;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            updateLock.unlock();
+        }
+        try {
+            B build = load();
+            updateLock.lock();
+            try {
+                install(build, pending);
+                return true;
+            } finally {
+                updateLock.unlock();
+            }
+        } catch (RuntimeException ex) {
+            System.err.println(getClass().getSimpleName() + ": rebuild failed: " + ex.getMessage());
+            return false;
+        } finally {
+            updateLock.lock();
+            try {
+                pending = null;
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    protected final void update(E event) {
+        update(List.of(event));
+    }
+
+    protected final void update(List<? extends E> events) {
+        updateLock.lock();
+        try {
+            if (pending != null) {
+                pending.addAll(events);
+            }
+            applyAll(events);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+}
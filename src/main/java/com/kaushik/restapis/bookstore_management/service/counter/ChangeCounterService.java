@@ -0,0 +1,119 @@
+package com.kaushik.restapis.bookstore_management.service.counter;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.SessionSynchronization;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Per-collection change counters, kept in the {@code counters} collection so
+ * every app instance sees the same value. Each counter document carries a
+ * random epoch set when it is first created; {@link #token} combines the two,
+ * so a counter that is dropped and restarted never repeats an old token.
+ *
+ * Counters are written outside any surrounding transaction: every write
+ * bumps one of a handful of documents, and inside transactions concurrent
+ * writers would abort each other on them. A bump whose transaction then
+ * rolls back only costs a spurious cache miss or a gap in a sequence.
+ */
+@Service
+public class ChangeCounterService {
+
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+    public static final String CATEGORIES = "categories";
+
+    static final String COLLECTION = "counters";
+
+    @Autowired
+    private MongoTemplate template;
+
+    // Same database and mapping as the shared template, but never joins a session
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void init() {
+        mongoTemplate = new MongoTemplate(template.getMongoDatabaseFactory(), template.getConverter());
+        mongoTemplate.setSessionSynchronization(SessionSynchronization.NEVER);
+    }
+
+    // Atomically bump the counter and return its new value
+    public long increment(String name) {
+        return increment(name, 1);
+    }
+
+    // Atomically add n and return the new value; n > 1 reserves the range (value - n, value]
+    public long increment(String name, long n) {
+        Document counter = mongoTemplate.findAndModify(byName(name),
+                new Update().inc("seq", n).setOnInsert("epoch", new ObjectId().toHexString()),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class, COLLECTION);
+        return ((Number) counter.get("seq")).longValue();
+    }
+
+    // Current value without bumping it; 0 for a counter that was never incremented
+    public long current(String name) {
+        Document counter = mongoTemplate.findOne(byName(name), Document.class, COLLECTION);
+        return counter == null ? 0L : ((Number) counter.get("seq")).longValue();
+    }
+
+    // Move the counter up to value if it is lower, e.g. a high-water mark
+    public void raise(String name, long value) {
+        mongoTemplate.upsert(byName(name),
+                new Update().max("seq", value).setOnInsert("epoch", new ObjectId().toHexString()),
+                COLLECTION);
+    }
+
+    // Opaque value that changes whenever the collection changes, e.g. "6650c1...-42"
+    public String token(String name) {
+        Document counter = mongoTemplate.findOne(byName(name), Document.class, COLLECTION);
+        if (counter == null) {
+            counter = mongoTemplate.findAndModify(byName(name),
+                    new Update().setOnInsert("seq", 0L).setOnInsert("epoch", new ObjectId().toHexString()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class, COLLECTION);
+        }
+        return counter.getString("epoch") + "-" + ((Number) counter.get("seq")).longValue();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        increment(BOOKS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (!event.getChanges().isEmpty()) {
+            increment(BOOKS, event.getChanges().size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        // Books whose author snapshot is rewritten arrive as BooksChangedEvents (see BookSnapshotSync)
+        increment(AUTHORS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        increment(CATEGORIES);
+    }
+
+    private static Query byName(String name) {
+        return Query.query(Criteria.where("_id").is(name));
+    }
+}
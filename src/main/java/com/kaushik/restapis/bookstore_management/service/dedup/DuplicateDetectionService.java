@@ -0,0 +1,295 @@
+package com.kaushik.restapis.bookstore_management.service.dedup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.dto.DuplicateCandidateDTO;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.service.concurrent.RebuildableIndex;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Finds near-duplicate books (same title/description under different ISBNs)
+ * using MinHash signatures bucketed with locality-sensitive hashing. Each
+ * signature is split into bands; books sharing any band bucket become
+ * candidates, so only colliding books are compared instead of all pairs.
+ *
+ * The index lives in memory, is rebuilt periodically from MongoDB and is kept
+ * up to date between rebuilds from {@link BookChangedEvent}s. Changes that
+ * arrive while a rebuild streams the catalog are replayed onto the new index
+ * before it is swapped in.
+ */
+@Service
+public class DuplicateDetectionService extends RebuildableIndex<DuplicateDetectionService.LshIndex, BookChangedEvent> {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${bookstore.dedup.bands:16}")
+    private int bands;
+
+    @Value("${bookstore.dedup.rows:8}")
+    private int rows;
+
+    @Value("${bookstore.dedup.shingle-size:5}")
+    private int shingleSize;
+
+    // Buckets larger than this are skipped when listing pairs (avoids quadratic blow-up on boilerplate text)
+    @Value("${bookstore.dedup.max-bucket-size:200}")
+    private int maxBucketSize;
+
+    private MinHasher hasher;
+
+    private volatile LshIndex index;
+
+    private volatile LocalDateTime lastRebuild;
+
+    @PostConstruct
+    void init() {
+        hasher = new MinHasher(bands * rows, shingleSize);
+        index = new LshIndex(bands, rows);
+    }
+
+    // Full rebuild from the database; the new index is swapped in atomically
+    @Scheduled(initialDelayString = "${bookstore.dedup.initial-delay-ms:30000}",
+            fixedDelayString = "${bookstore.dedup.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (reload()) {
+            lastRebuild = LocalDateTime.now();
+            System.out.println("DuplicateDetection: indexed " + index.size() + " books");
+        }
+    }
+
+    @Override
+    protected LshIndex load() {
+        LshIndex fresh = new LshIndex(bands, rows);
+        Query query = new Query();
+        query.fields().include("title", "isbn", "description");
+        try (Stream<Book> books = mongoTemplate.stream(query, Book.class)) {
+            books.forEach(b -> {
+                Entry e = toEntry(b);
+                if (e != null) {
+                    fresh.put(e);
+                }
+            });
+        }
+        return fresh;
+    }
+
+    // Each change re-puts or removes its book by id, so replaying one the stream already saw is harmless
+    @Override
+    protected void install(LshIndex fresh, List<BookChangedEvent> missed) {
+        missed.forEach(change -> apply(fresh, change));
+        index = fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        update(event.getChanges());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        update(event);
+    }
+
+    @Override
+    protected void apply(BookChangedEvent event) {
+        apply(index, event);
+    }
+
+    private void apply(LshIndex target, BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.ChangeType.DELETED) {
+            target.remove(event.getBookId());
+            return;
+        }
+        Entry e = toEntry(event.getAfter());
+        if (e != null) {
+            target.put(e);
+        } else {
+            target.remove(event.getBookId());
+        }
+    }
+
+    // All candidate pairs whose estimated similarity is at least the threshold
+    public List<DuplicateCandidateDTO> findDuplicates(double threshold) {
+        LshIndex current = index;
+        Set<String> seen = new HashSet<>();
+        List<DuplicateCandidateDTO> result = new ArrayList<>();
+        for (Set<String> bucket : current.buckets.values()) {
+            if (bucket.size() < 2 || bucket.size() > maxBucketSize) {
+                continue;
+            }
+            List<String> ids = new ArrayList<>(bucket);
+            for (int i = 0; i < ids.size(); i++) {
+                for (int j = i + 1; j < ids.size(); j++) {
+                    String a = ids.get(i);
+                    String b = ids.get(j);
+                    String pairKey = a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a;
+                    if (!seen.add(pairKey)) {
+                        continue;
+                    }
+                    addIfSimilar(current.entries.get(a), current.entries.get(b), threshold, result);
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(DuplicateCandidateDTO::getSimilarity).reversed());
+        return result;
+    }
+
+    // Candidates for a single book
+    public List<DuplicateCandidateDTO> findDuplicatesOf(String bookId, double threshold) {
+        LshIndex current = index;
+        Entry entry = current.entries.get(bookId);
+        List<DuplicateCandidateDTO> result = new ArrayList<>();
+        if (entry == null) {
+            return result;
+        }
+        for (String id : current.candidates(entry)) {
+            addIfSimilar(entry, current.entries.get(id), threshold, result);
+        }
+        result.sort(Comparator.comparingDouble(DuplicateCandidateDTO::getSimilarity).reversed());
+        return result;
+    }
+
+    public Map<String, Object> getStatus() {
+        LshIndex current = index;
+        Map<String, Object> status = new HashMap<>();
+        status.put("indexedBooks", current.size());
+        status.put("buckets", current.buckets.size());
+        status.put("bands", bands);
+        status.put("rows", rows);
+        status.put("lastRebuild", lastRebuild);
+        return status;
+    }
+
+    private void addIfSimilar(Entry a, Entry b, double threshold, List<DuplicateCandidateDTO> out) {
+        if (a == null || b == null) {
+            return;
+        }
+        double similarity = MinHasher.similarity(a.signature, b.signature);
+        if (similarity >= threshold) {
+            out.add(new DuplicateCandidateDTO(a.id, a.title, a.isbn, b.id, b.title, b.isbn, similarity));
+        }
+    }
+
+    private Entry toEntry(Book book) {
+        if (book == null || book.getId() == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        if (book.getTitle() != null) {
+            text.append(book.getTitle()).append(' ');
+        }
+        if (book.getDescription() != null) {
+            text.append(book.getDescription());
+        }
+        int[] signature = hasher.signature(text.toString());
+        if (signature == null) {
+            return null;
+        }
+        return new Entry(book.getId(), book.getTitle(), book.getIsbn(), signature, bandKeys(signature));
+    }
+
+    private long[] bandKeys(int[] signature) {
+        long[] keys = new long[bands];
+        for (int b = 0; b < bands; b++) {
+            long h = MinHasher.mix64(b + 1L);
+            for (int r = 0; r < rows; r++) {
+                h = MinHasher.mix64(h ^ signature[b * rows + r]);
+            }
+            keys[b] = h;
+        }
+        return keys;
+    }
+
+    private static final class Entry {
+
+        final String id;
+        final String title;
+        final String isbn;
+        final int[] signature;
+        final long[] bandKeys;
+
+        Entry(String id, String title, String isbn, int[] signature, long[] bandKeys) {
+            this.id = id;
+            this.title = title;
+            this.isbn = isbn;
+            this.signature = signature;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    static final class LshIndex {
+
+        final int bands;
+        final int rows;
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+        LshIndex(int bands, int rows) {
+            this.bands = bands;
+            this.rows = rows;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        void put(Entry e) {
+            remove(e.id);
+            entries.put(e.id, e);
+            for (long key : e.bandKeys) {
+                buckets.compute(key, (k, ids) -> {
+                    Set<String> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    set.add(e.id);
+                    return set;
+                });
+            }
+        }
+
+        void remove(String id) {
+            Entry old = entries.remove(id);
+            if (old == null) {
+                return;
+            }
+            for (long key : old.bandKeys) {
+                buckets.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        Set<String> candidates(Entry e) {
+            Set<String> result = new HashSet<>();
+            for (long key : e.bandKeys) {
+                Set<String> ids = buckets.get(key);
+                if (ids != null) {
+                    result.addAll(ids);
+                }
+            }
+            result.remove(e.id);
+            return result;
+        }
+    }
+}
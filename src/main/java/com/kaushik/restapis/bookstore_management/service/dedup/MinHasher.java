@@ -0,0 +1,127 @@
+package com.kaushik.restapis.bookstore_management.service.dedup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Computes MinHash signatures over character shingles of a text. Two
+ * signatures agree at any position with probability equal to the Jaccard
+ * similarity of the underlying shingle sets, so the fraction of matching
+ * positions is an estimate of that similarity.
+ */
+public class MinHasher {
+
+    private final int numHashes;
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, int shingleSize) {
+        if (numHashes <= 0 || shingleSize <= 0) {
+            throw new IllegalArgumentException("numHashes and shingleSize must be positive");
+        }
+        this.numHashes = numHashes;
+        this.shingleSize = shingleSize;
+        this.seeds = new long[numHashes];
+        // Fixed seeds so signatures are stable across restarts and nodes
+        long s = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < numHashes; i++) {
+            s = mix64(s + i);
+            seeds[i] = s;
+        }
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    // Build the signature of a text; returns null when the text has no shingles
+    public int[] signature(String text) {
+        Set<Long> shingles = shingles(text);
+        if (shingles.isEmpty()) {
+            return null;
+        }
+
+        int[] sig = new int[numHashes];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < numHashes; i++) {
+                int h = (int) (mix64(shingle ^ seeds[i]) >>> 33);
+                if (h < sig[i]) {
+                    sig[i] = h;
+                }
+            }
+        }
+        return sig;
+    }
+
+    // Estimated Jaccard similarity of two signatures
+    public static double similarity(int[] a, int[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0.0;
+        }
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    private Set<Long> shingles(String text) {
+        Set<Long> result = new HashSet<>();
+        if (text == null) {
+            return result;
+        }
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        if (normalized.length() <= shingleSize) {
+            result.add(hashString(normalized));
+            return result;
+        }
+        for (int i = 0; i + shingleSize <= normalized.length(); i++) {
+            result.add(hashString(normalized.substring(i, i + shingleSize)));
+        }
+        return result;
+    }
+
+    // Lowercase, drop punctuation and collapse whitespace so formatting noise doesn't count
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean lastSpace = true;
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                lastSpace = false;
+            } else if (!lastSpace) {
+                sb.append(' ');
+                lastSpace = true;
+            }
+        }
+        int len = sb.length();
+        if (len > 0 && sb.charAt(len - 1) == ' ') {
+            sb.setLength(len - 1);
+        }
+        return sb.toString();
+    }
+
+    private static long hashString(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix64(h);
+    }
+
+    // SplitMix64 finalizer
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,127 @@
+package com.kaushik.restapis.bookstore_management.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kaushik.restapis.bookstore_management.dto.BookDTO;
+import com.kaushik.restapis.bookstore_management.service.BookService;
+
+/**
+ * Writes the catalog to an output stream as NDJSON or CSV while it is read
+ * from MongoDB. Records are written and flushed chunk by chunk, so memory use
+ * does not grow with the catalog and the first bytes go out immediately.
+ */
+@Service
+public class BookExportService {
+
+    // Books converted and flushed per round trip
+    static final int CHUNK_SIZE = 500;
+
+    private static final String[] CSV_COLUMNS = {
+        "id", "isbn", "title", "authorId", "authorName", "categoryId", "categoryName", "price",
+        "stockQuantity", "publicationYear", "pages", "language", "createdAt", "updatedAt", "description"
+    };
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+        }
+    }
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writeCsv(writer);
+        } else {
+            writeNdjson(writer);
+        }
+        writer.flush();
+    }
+
+    // One JSON document per line, same shape as GET /api/books
+    private void writeNdjson(Writer writer) throws IOException {
+        ObjectWriter json = objectMapper.writerFor(BookDTO.class);
+        bookService.streamAllBooks(CHUNK_SIZE, chunk -> {
+            for (BookDTO book : chunk) {
+                writer.write(json.writeValueAsString(book));
+                writer.write('\n');
+            }
+            writer.flush();
+        });
+    }
+
+    // RFC 4180 CSV with a header row
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        bookService.streamAllBooks(CHUNK_SIZE, chunk -> {
+            for (BookDTO book : chunk) {
+                writeCsvRow(writer,
+                        book.getId(), book.getIsbn(), book.getTitle(),
+                        book.getAuthorId(), book.getAuthorName(),
+                        book.getCategoryId(), book.getCategoryName(),
+                        book.getPrice() != null ? book.getPrice().toPlainString() : null,
+                        book.getStockQuantity(), book.getPublicationYear(), book.getPages(), book.getLanguage(),
+                        book.getCreatedAt(), book.getUpdatedAt(), book.getDescription());
+            }
+            writer.flush();
+        });
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvEscape(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvEscape(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
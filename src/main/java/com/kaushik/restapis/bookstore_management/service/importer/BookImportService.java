@@ -0,0 +1,363 @@
+package com.kaushik.restapis.bookstore_management.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaushik.restapis.bookstore_management.dto.BookCreateDTO;
+import com.kaushik.restapis.bookstore_management.dto.BookImportReportDTO;
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.repository.AuthorRepository;
+import com.kaushik.restapis.bookstore_management.repository.CategoryRepository;
+import com.kaushik.restapis.bookstore_management.service.changes.ChangeTransactions;
+import com.kaushik.restapis.bookstore_management.service.export.BookExportService;
+import com.mongodb.bulk.BulkWriteError;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk book import from an NDJSON or CSV upload. Rows are parsed as a stream
+ * and handled in chunks: each chunk validates its rows with the same rules as
+ * POST /api/books, checks ISBNs with one $in query, resolves authors and
+ * categories with one $in query each (cached for the rest of the import) and
+ * inserts the survivors with a single unordered bulk write.
+ */
+@Service
+public class BookImportService {
+
+    // Rows per validation/lookup/bulk-write round trip
+    static final int CHUNK_SIZE = 1000;
+
+    // Row errors kept in the report; the counters still cover every row
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeTransactions changeTransactions;
+
+    public BookImportReportDTO importBooks(BookExportService.Format format, InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun(new BookImportReportDTO(format.getExtension()));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == BookExportService.Format.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        flush(run);
+
+        BookImportReportDTO report = run.report;
+        report.getErrors().sort(Comparator.comparingInt(BookImportReportDTO.RowError::getRow));
+        report.setDurationMs(System.currentTimeMillis() - start);
+        System.out.println("BookImportService: " + report.getImported() + " of " + report.getTotalRows()
+                + " rows imported in " + report.getDurationMs() + " ms");
+        return report;
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        int row = 0;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            BookCreateDTO dto;
+            try {
+                dto = objectMapper.readValue(line, BookCreateDTO.class);
+            } catch (JsonProcessingException ex) {
+                run.fail(row, null, "Malformed JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            add(run, row, dto);
+        }
+    }
+
+    // Header row names the BookCreateDTO properties; unknown columns (e.g. from an export) are ignored.
+    // Rows are numbered by CSV record after the header, not by line: a quoted field may span lines.
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (CsvRecordReader.MalformedCsvException ex) {
+            run.fail(0, null, "Malformed CSV header: " + ex.getMessage());
+            return;
+        }
+        if (header == null) {
+            return;
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        List<String> record;
+        int row = 0;
+        while (true) {
+            try {
+                record = csv.next();
+            } catch (CsvRecordReader.MalformedCsvException ex) {
+                // The open quote swallowed the rest of the file; report it and keep the rows read so far
+                run.fail(row + 1, null, "Malformed CSV: " + ex.getMessage() + "; the rest of the file was not imported");
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size() && i < record.size(); i++) {
+                if (!record.get(i).isEmpty()) {
+                    values.put(header.get(i).trim(), record.get(i));
+                }
+            }
+            BookCreateDTO dto;
+            try {
+                dto = objectMapper.convertValue(values, BookCreateDTO.class);
+            } catch (IllegalArgumentException ex) {
+                run.fail(row, values.get("isbn"), "Malformed row: " + ex.getMessage());
+                continue;
+            }
+            add(run, row, dto);
+        }
+    }
+
+    private void add(ImportRun run, int row, BookCreateDTO dto) {
+        Set<ConstraintViolation<BookCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            run.fail(row, dto.getIsbn(), violations.iterator().next().getMessage());
+            return;
+        }
+        // Duplicates inside the upload itself: first occurrence wins
+        if (!run.seenIsbns.add(dto.getIsbn())) {
+            run.fail(row, dto.getIsbn(), "Duplicate ISBN " + dto.getIsbn() + " earlier in this import");
+            return;
+        }
+        run.pending.put(row, dto);
+        if (run.pending.size() >= CHUNK_SIZE) {
+            flush(run);
+        }
+    }
+
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        Map<Integer, BookCreateDTO> rows = run.pending;
+        run.pending = new LinkedHashMap<>();
+
+        Set<String> isbns = new HashSet<>();
+        Set<String> authorIds = new HashSet<>();
+        Set<String> categoryIds = new HashSet<>();
+        for (BookCreateDTO dto : rows.values()) {
+            isbns.add(dto.getIsbn());
+            if (!run.authors.containsKey(dto.getAuthorId())) {
+                authorIds.add(dto.getAuthorId());
+            }
+            if (!run.categories.containsKey(dto.getCategoryId())) {
+                categoryIds.add(dto.getCategoryId());
+            }
+        }
+        Set<String> existingIsbns = existingIsbns(isbns);
+        if (!authorIds.isEmpty()) {
+            authorRepository.findAllById(authorIds).forEach(a -> run.authors.put(a.getId(), a));
+        }
+        if (!categoryIds.isEmpty()) {
+            categoryRepository.findAllById(categoryIds).forEach(c -> run.categories.put(c.getId(), c));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> rowNumbers = new ArrayList<>();
+        List<Book> books = new ArrayList<>();
+        for (Map.Entry<Integer, BookCreateDTO> entry : rows.entrySet()) {
+            BookCreateDTO dto = entry.getValue();
+            Author author = run.authors.get(dto.getAuthorId());
+            Category category = run.categories.get(dto.getCategoryId());
+            if (existingIsbns.contains(dto.getIsbn())) {
+                run.fail(entry.getKey(), dto.getIsbn(), "Book with ISBN " + dto.getIsbn() + " already exists.");
+            } else if (author == null) {
+                run.fail(entry.getKey(), dto.getIsbn(), "Author not found with id: " + dto.getAuthorId());
+            } else if (category == null) {
+                run.fail(entry.getKey(), dto.getIsbn(), "Category not found with id: " + dto.getCategoryId());
+            } else {
+                rowNumbers.add(entry.getKey());
+                books.add(toBook(dto, author, category, now));
+            }
+        }
+        if (!books.isEmpty()) {
+            write(run, rowNumbers, books);
+        }
+    }
+
+    // Unordered bulk insert; rejected documents (e.g. an ISBN inserted concurrently) become row errors
+    // The chunk's inserts and their change events commit together (see ChangeTransactions)
+    private void write(ImportRun run, List<Integer> rowNumbers, List<Book> books) {
+        List<Integer> rows = rowNumbers;
+        List<Book> remaining = books;
+        while (!remaining.isEmpty()) {
+            List<Integer> attemptRows = rows;
+            List<Book> attempt = remaining;
+            try {
+                // Counted once committed
+                int imported = changeTransactions.execute(() -> insert(run, attemptRows, attempt));
+                run.report.setImported(run.report.getImported() + imported);
+                run.report.setTotalRows(run.report.getTotalRows() + imported);
+                return;
+            } catch (BulkOperationException ex) {
+                // In a transaction a rejected insert aborts the whole chunk: report those rows and retry the rest
+                Set<Integer> rejected = reject(run, attemptRows, attempt, ex);
+                rows = new ArrayList<>();
+                remaining = new ArrayList<>();
+                for (int i = 0; i < attempt.size(); i++) {
+                    if (!rejected.contains(i)) {
+                        rows.add(attemptRows.get(i));
+                        remaining.add(attempt.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    // Inserts the chunk and publishes it; returns how many rows went in
+    private int insert(ImportRun run, List<Integer> rowNumbers, List<Book> books) {
+        Set<Integer> rejected = Set.of();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Book.class).insert(books).execute();
+        } catch (BulkOperationException ex) {
+            if (changeTransactions.isEnabled()) {
+                throw ex;
+            }
+            rejected = reject(run, rowNumbers, books, ex);
+        }
+        List<BookChangedEvent> created = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            if (!rejected.contains(i)) {
+                created.add(BookChangedEvent.created(books.get(i)));
+            }
+        }
+        // One event per chunk: the change log, counters and stats write once for it
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new BooksChangedEvent(created));
+        }
+        return created.size();
+    }
+
+    // Report the rows the server refused; returns their indexes in the chunk
+    private static Set<Integer> reject(ImportRun run, List<Integer> rowNumbers, List<Book> books,
+            BulkOperationException ex) {
+        Set<Integer> rejected = new HashSet<>();
+        for (BulkWriteError error : ex.getErrors()) {
+            int index = error.getIndex();
+            rejected.add(index);
+            String message = error.getCode() == DUPLICATE_KEY
+                    ? "Book with ISBN " + books.get(index).getIsbn() + " already exists."
+                    : error.getMessage();
+            run.fail(rowNumbers.get(index), books.get(index).getIsbn(), message);
+        }
+        return rejected;
+    }
+
+    private Set<String> existingIsbns(Set<String> isbns) {
+        Query query = Query.query(Criteria.where("isbn").in(isbns));
+        query.fields().include("isbn");
+        Set<String> existing = new HashSet<>();
+        for (Book book : mongoTemplate.find(query, Book.class)) {
+            existing.add(book.getIsbn());
+        }
+        return existing;
+    }
+
+    private static Book toBook(BookCreateDTO dto, Author author, Category category, LocalDateTime now) {
+        Book book = new Book();
+        // Assign ids up front so the inserted books can be published without reading them back
+        book.setId(new ObjectId().toHexString());
+        // Bulk inserts skip the version initialisation save() does
+        book.setVersion(0L);
+        book.setTitle(dto.getTitle());
+        book.setIsbn(dto.getIsbn());
+        book.setDescription(dto.getDescription());
+        book.setPrice(dto.getPrice());
+        book.setStockQuantity(dto.getStockQuantity());
+        book.setPublicationYear(dto.getPublicationYear());
+        book.setPages(dto.getPages());
+        book.setLanguage(dto.getLanguage());
+        book.setAuthor(author);
+        book.setCategory(category);
+        book.setCreatedAt(now);
+        book.setUpdatedAt(now);
+        return book;
+    }
+
+    // State of one import request
+    private static class ImportRun {
+
+        private final BookImportReportDTO report;
+        private final Set<String> seenIsbns = new HashSet<>();
+        private final Map<String, Author> authors = new HashMap<>();
+        private final Map<String, Category> categories = new HashMap<>();
+        private Map<Integer, BookCreateDTO> pending = new LinkedHashMap<>();
+
+        ImportRun(BookImportReportDTO report) {
+            this.report = report;
+        }
+
+        void fail(int row, String isbn, String message) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new BookImportReportDTO.RowError(row, isbn, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.kaushik.restapis.bookstore_management.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, fields optionally quoted
+ * with "" as an escaped quote, quoted fields may span lines. Reads one record
+ * at a time so arbitrarily large uploads never sit in memory. A quote left
+ * open at end of input throws {@link MalformedCsvException}: every following
+ * record was swallowed into that field, so there is nothing left to read.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private final Reader reader;
+    private int pending = -2;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Next record, or null at end of input; a record may span several lines
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedCsvException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(peek);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int peek = read();
+                    if (peek != '\n') {
+                        unread(peek);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // The input is not valid CSV from this record on
+    public static class MalformedCsvException extends IOException {
+
+        public MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
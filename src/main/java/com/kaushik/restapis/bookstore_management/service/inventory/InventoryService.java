@@ -0,0 +1,609 @@
+package com.kaushik.restapis.bookstore_management.service.inventory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.dto.ReservationDTO;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.StockLedgerEntry;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.exceptions.InsufficientStockException;
+import com.kaushik.restapis.bookstore_management.exceptions.ResourceNotFoundException;
+import com.kaushik.restapis.bookstore_management.service.BookService;
+import com.kaushik.restapis.bookstore_management.service.changes.ChangeTransactions;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Checkout-path inventory for hot books. A book's stock is loaded from Mongo
+ * on its first reservation and then kept in memory as a {@link StripedStock};
+ * reserving, confirming and releasing are CAS operations with no database
+ * round trip.
+ *
+ * Held reservations expire after a TTL and go back to the pool. Confirmed
+ * ones are summed per book and written behind: every flush interval all
+ * pending deltas go out as one unordered bulk of $inc updates, however many
+ * orders came in. A decrement only applies while Mongo still has that much
+ * stock, so the stored count never goes negative. Each bulk stamps its
+ * updates with a token; after any failure, including a timeout that leaves
+ * the outcome unknown, the books are read back and the token tells which
+ * deltas landed. Nothing is sent again until that read-back succeeds.
+ *
+ * Stock changes made elsewhere (PATCH, increment/decrement, edits, bulk
+ * updates) arrive as change events and are applied to the in-memory count.
+ * When one lowers stock below what is already held, or a flush finds Mongo
+ * short, the count is recomputed from Mongo's: no further holds are granted
+ * and the confirmed units that did not fit stay pending as a backorder
+ * until stock is raised again.
+ *
+ * Single node only: holds and pending deltas live in this instance's
+ * memory, and events from other instances never reach it. Two instances
+ * serving reservations for the same books can each grant the same units;
+ * the guarded flush keeps Mongo from going negative but the excess shows up
+ * as backorders.
+ *
+ * A confirmation is acknowledged only after its entry is in the stock_ledger
+ * collection. The entry is stamped with the token of each flush that carries
+ * it and deleted once that flush has applied; on startup, before the port
+ * opens, entries the book's token shows as applied are dropped and the rest
+ * become pending sales again (see StockLedgerRecovery). Open holds are not
+ * persisted: they lapse on restart and their confirm gets a 404, so the
+ * client reserves again against the recovered counts.
+ */
+@Service
+public class InventoryService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeTransactions changeTransactions;
+
+    @Value("${bookstore.inventory.stripes:0}")
+    private int stripes;
+
+    @Value("${bookstore.inventory.reservation-ttl-seconds:600}")
+    private long reservationTtlSeconds;
+
+    @Value("${bookstore.inventory.idle-eviction-ms:600000}")
+    private long idleEvictionMs;
+
+    private final Map<String, BookStock> stocks = new ConcurrentHashMap<>();
+
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    // Books whose events flush() is publishing on this thread, so its own writes aren't applied twice
+    private final ThreadLocal<Set<String>> flushing = ThreadLocal.withInitial(Set::of);
+
+    // Last flush whose outcome could not be read back yet; settled before anything new is sent
+    private FlushBatch unsettled;
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong unitsFlushed = new AtomicLong();
+    private final AtomicLong reconciles = new AtomicLong();
+
+    // Hold stock for a checkout; fails with 409 when not enough is available
+    public ReservationDTO reserve(String bookId, Integer quantity) {
+        int amount = requirePositive(quantity);
+        while (true) {
+            BookStock stock = stockFor(bookId);
+            if (!stock.available.tryTake(amount)) {
+                throw new InsufficientStockException("Not enough stock to reserve " + amount + " of book " + bookId);
+            }
+            stock.held.addAndGet(amount);
+            if (stock.retired) {
+                // Evicted between lookup and take; undo and retry on a freshly loaded entry
+                stock.held.addAndGet(-amount);
+                stock.available.add(amount);
+                continue;
+            }
+            long now = System.currentTimeMillis();
+            stock.lastUsed = now;
+            Reservation reservation = new Reservation(new ObjectId().toHexString(), bookId, amount,
+                    now + reservationTtlSeconds * 1000, stock);
+            reservations.put(reservation.id, reservation);
+            return toDTO(reservation, ReservationDTO.Status.HELD);
+        }
+    }
+
+    // Turn a hold into a sale; the stock change reaches Mongo with the next flush
+    public ReservationDTO confirm(String reservationId) {
+        Reservation reservation = claim(reservationId);
+        try {
+            mongoTemplate.insert(new StockLedgerEntry(reservation.id, reservation.bookId, reservation.quantity,
+                    LocalDateTime.now()));
+        } catch (RuntimeException ex) {
+            // Not recorded, so not sold: the hold stays open and the confirm can be retried
+            reservations.put(reservation.id, reservation);
+            throw ex;
+        }
+        reservation.stock.confirmed.add(reservation);
+        // unflushed before held, so the evictor never sees both at zero in between
+        reservation.stock.unflushed.addAndGet(-reservation.quantity);
+        reservation.stock.held.addAndGet(-reservation.quantity);
+        return toDTO(reservation, ReservationDTO.Status.CONFIRMED);
+    }
+
+    // Give held stock back
+    public void release(String reservationId) {
+        giveBack(claim(reservationId));
+    }
+
+    public Map<String, Object> getAvailability(String bookId) {
+        BookStock stock = stockFor(bookId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bookId", bookId);
+        result.put("available", stock.available.total());
+        result.put("held", stock.held.get());
+        result.put("pendingWrite", stock.unflushed.get());
+        result.put("shortBy", stock.deficit);
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        long pending = 0;
+        for (BookStock stock : stocks.values()) {
+            pending += stock.unflushed.get();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hotBooks", stocks.size());
+        stats.put("activeReservations", reservations.size());
+        stats.put("pendingUnits", pending);
+        stats.put("flushes", flushes.get());
+        stats.put("unitsFlushed", unitsFlushed.get());
+        stats.put("reconciles", reconciles.get());
+        return stats;
+    }
+
+    // Write-behind: every book's pending delta in one bulk; failed entries stay pending for the next run
+    @Scheduled(fixedDelayString = "${bookstore.inventory.flush-interval-ms:500}")
+    public synchronized void flush() {
+        FlushBatch previous = unsettled;
+        if (previous != null && !commit(previous, () -> check(previous))) {
+            // Still can't tell whether the last bulk applied; sending the deltas again could apply them twice
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        List<BookStock> flushed = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        List<List<Reservation>> sales = new ArrayList<>();
+        List<String> ledgerIds = new ArrayList<>();
+        for (Map.Entry<String, BookStock> entry : stocks.entrySet()) {
+            // The delta is exactly the drained sales, so the ledger entries to stamp and delete match it
+            List<Reservation> drained = new ArrayList<>();
+            Reservation sale;
+            while ((sale = entry.getValue().confirmed.poll()) != null) {
+                drained.add(sale);
+                ledgerIds.add(sale.id);
+            }
+            if (!drained.isEmpty()) {
+                ids.add(entry.getKey());
+                flushed.add(entry.getValue());
+                deltas.add(-drained.stream().mapToLong(r -> r.quantity).sum());
+                sales.add(drained);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        FlushBatch batch = new FlushBatch(new ObjectId().toHexString(), ids, flushed, deltas, sales);
+        try {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(ledgerIds)),
+                    Update.update("flush", batch.token), StockLedgerEntry.class);
+        } catch (RuntimeException ex) {
+            // Nothing sent yet; the sales go back for the next run
+            requeue(batch, i -> true);
+            System.err.println("InventoryService: could not stamp the stock ledger, will retry: " + ex.getMessage());
+            return;
+        }
+        commit(batch, () -> {
+            send(batch);
+            return check(batch);
+        });
+    }
+
+    // Mongo work of a batch plus its change events as one unit (a transaction when enabled), then memory; false leaves it unsettled
+    private boolean commit(FlushBatch batch, Supplier<Settlement> work) {
+        Settlement settlement;
+        // The flush's own events must not shift this node's counts again; after-commit listeners run inside execute
+        flushing.set(Set.copyOf(batch.ids));
+        try {
+            settlement = changeTransactions.execute(() -> {
+                Settlement checked = work.get();
+                publishFlushed(checked);
+                return checked;
+            });
+        } catch (RuntimeException ex) {
+            // Rolled back, or Mongo unreachable: the next run reads the books back before sending anything.
+            // Should a commit have landed despite the error, that run logs the same stock change once more.
+            batch.outcomeUnknown = true;
+            unsettled = batch;
+            System.err.println("InventoryService: could not settle the last flush, holding further flushes: " + ex.getMessage());
+            return false;
+        } finally {
+            flushing.remove();
+        }
+        unsettled = null;
+        apply(batch, settlement);
+        return true;
+    }
+
+    private void send(FlushBatch batch) {
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Book.class);
+        for (int i = 0; i < batch.ids.size(); i++) {
+            long delta = batch.deltas.get(i);
+            Criteria criteria = Criteria.where("id").is(batch.ids.get(i));
+            if (delta < 0) {
+                criteria = criteria.and("stockQuantity").gte(-delta);
+            }
+            bulk.updateOne(Query.query(criteria), new Update().inc("stockQuantity", delta).inc("version", 1)
+                    .set("updatedAt", now).set("stockFlush", batch.token));
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException ex) {
+            if (changeTransactions.isEnabled()) {
+                // The server aborted the transaction; commit() keeps the batch for the next run
+                throw ex;
+            }
+            ex.getErrors().forEach(error -> batch.failed.add(error.getIndex()));
+            System.err.println("InventoryService: " + batch.failed.size() + " stock updates failed, will retry: "
+                    + ex.getErrors().get(0).getMessage());
+        } catch (RuntimeException ex) {
+            if (changeTransactions.isEnabled()) {
+                throw ex;
+            }
+            // E.g. a timeout after the server applied the batch: only the read-back can tell
+            batch.outcomeUnknown = true;
+            System.err.println("InventoryService: flush outcome unknown, checking which updates applied: " + ex.getMessage());
+        }
+    }
+
+    // Read the batch's books back, let the token tell which updates applied and drop their ledger entries
+    private Settlement check(FlushBatch batch) {
+        Settlement settlement = new Settlement(readBack(batch.ids));
+        List<String> done = new ArrayList<>();
+        for (int i = 0; i < batch.ids.size(); i++) {
+            Book book = settlement.books.get(batch.ids.get(i));
+            if (!batch.failed.contains(i) && book != null && batch.token.equals(book.getStockFlush())) {
+                settlement.applied.add(i);
+                settlement.written.put(batch.ids.get(i), batch.deltas.get(i));
+                batch.sales.get(i).forEach(sale -> done.add(sale.id));
+            }
+        }
+        if (!done.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("id").in(done)), StockLedgerEntry.class);
+        }
+        return settlement;
+    }
+
+    // In-memory side of a settled batch; only runs once its Mongo side is done
+    private void apply(FlushBatch batch, Settlement settlement) {
+        requeue(batch, i -> !settlement.applied.contains(i));
+        for (int i = 0; i < batch.ids.size(); i++) {
+            Book book = settlement.books.get(batch.ids.get(i));
+            BookStock stock = batch.stocks.get(i);
+            long delta = batch.deltas.get(i);
+            if (batch.failed.contains(i) || book == null) {
+                continue;
+            }
+            if (settlement.applied.contains(i)) {
+                // Subtract only what was written; confirmations since the snapshot stay pending
+                stock.unflushed.addAndGet(-delta);
+                unitsFlushed.addAndGet(-delta);
+                if (stock.deficit > 0) {
+                    reconcile(stock, quantity(book));
+                }
+            } else if (!batch.outcomeUnknown) {
+                // Mongo has less than was sold here: keep the sale pending and stop granting holds
+                reconcile(stock, quantity(book));
+            }
+            // Outcome unknown and not applied: may not have been sent at all, so just retry next run
+        }
+        flushes.incrementAndGet();
+    }
+
+    // Put the sales of the batch's unapplied updates back in their books' queues
+    private void requeue(FlushBatch batch, IntPredicate which) {
+        for (int i = 0; i < batch.ids.size(); i++) {
+            if (which.test(i)) {
+                batch.stocks.get(i).confirmed.addAll(batch.sales.get(i));
+            }
+        }
+    }
+
+    // Startup: drop ledger entries the books show as applied and make the rest pending sales again
+    public synchronized void recover() {
+        List<StockLedgerEntry> entries = mongoTemplate.findAll(StockLedgerEntry.class);
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, Book> books = readBack(entries.stream().map(StockLedgerEntry::getBookId).distinct().toList());
+        List<String> done = new ArrayList<>();
+        Map<String, BookStock> touched = new HashMap<>();
+        long units = 0;
+        for (StockLedgerEntry entry : entries) {
+            Book book = books.get(entry.getBookId());
+            if (book == null || entry.getFlush() != null && entry.getFlush().equals(book.getStockFlush())) {
+                // Already in the stored count, or the book is gone
+                done.add(entry.getId());
+                continue;
+            }
+            BookStock stock = stockFor(entry.getBookId());
+            stock.confirmed.add(new Reservation(entry.getId(), entry.getBookId(), entry.getQuantity(), 0, stock));
+            stock.unflushed.addAndGet(-entry.getQuantity());
+            touched.put(entry.getBookId(), stock);
+            units += entry.getQuantity();
+        }
+        if (!done.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("id").in(done)), StockLedgerEntry.class);
+        }
+        // Available = stored stock minus the recovered sales
+        touched.forEach((id, stock) -> reconcile(stock, quantity(books.get(id))));
+        System.out.println("InventoryService: recovered " + units + " confirmed units for " + touched.size()
+                + " books from the stock ledger; " + done.size() + " entries were already applied.");
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Expire stale holds and drop idle books so memory follows the hot set
+    @Scheduled(fixedDelayString = "${bookstore.inventory.sweep-interval-ms:1000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.expiresAt <= now && reservations.remove(reservation.id, reservation)) {
+                giveBack(reservation);
+            }
+        }
+        for (Map.Entry<String, BookStock> entry : stocks.entrySet()) {
+            BookStock stock = entry.getValue();
+            if (now - stock.lastUsed < idleEvictionMs || stock.held.get() != 0 || stock.unflushed.get() != 0) {
+                continue;
+            }
+            // Retire first, then re-check: a reserve() that raced us either sees the flag or is seen here
+            stock.retired = true;
+            if (stock.held.get() == 0 && stock.unflushed.get() == 0) {
+                stocks.remove(entry.getKey(), stock);
+            } else {
+                stock.retired = false;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    // Stock changed outside the reservation path: shift the in-memory count by the same amount
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (flushing.get().contains(event.getBookId())) {
+            return;
+        }
+        if (event.getType() == BookChangedEvent.ChangeType.DELETED) {
+            BookStock removed = stocks.remove(event.getBookId());
+            if (removed != null) {
+                removed.retired = true;
+                // Its pending sales have nothing left to apply to
+                mongoTemplate.remove(Query.query(Criteria.where("bookId").is(event.getBookId())), StockLedgerEntry.class);
+            }
+            return;
+        }
+        BookStock stock = stocks.get(event.getBookId());
+        if (stock == null || event.getBefore() == null) {
+            return;
+        }
+        long delta = quantity(event.getAfter()) - quantity(event.getBefore());
+        if (stock.deficit > 0) {
+            // Already short: only an absolute recount tells whether the change covers it
+            reconcile(stock, quantity(event.getAfter()));
+        } else if (delta > 0) {
+            stock.available.add(delta);
+        } else if (delta < 0 && stock.available.take(-delta) < -delta) {
+            // Lowered below what is already held or sold here
+            reconcile(stock, quantity(event.getAfter()));
+        }
+    }
+
+    // Reset the available count to what Mongo's stock leaves after this node's holds and pending sales
+    private void reconcile(BookStock stock, long stored) {
+        long remaining = stored + stock.unflushed.get() - stock.held.get();
+        if (remaining < 0 && stock.deficit == 0) {
+            System.err.println("InventoryService: stock " + stored + " is " + (-remaining)
+                    + " short of the units held or sold here; no more holds until it is raised");
+        }
+        stock.deficit = Math.max(-remaining, 0);
+        long target = Math.max(remaining, 0);
+        long current = stock.available.total();
+        if (target > current) {
+            stock.available.add(target - current);
+        } else if (target < current) {
+            stock.available.take(current - target);
+        }
+        reconciles.incrementAndGet();
+    }
+
+    private BookStock stockFor(String bookId) {
+        BookStock stock = stocks.get(bookId);
+        if (stock != null) {
+            return stock;
+        }
+        return stocks.computeIfAbsent(bookId, id -> {
+            Query query = Query.query(Criteria.where("id").is(id));
+            query.fields().include("stockQuantity");
+            Book book = mongoTemplate.findOne(query, Book.class);
+            if (book == null) {
+                throw new ResourceNotFoundException("Book not found with id: " + id);
+            }
+            int parts = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+            return new BookStock(new StripedStock(parts, quantity(book)));
+        });
+    }
+
+    // Removing the reservation is what decides who handles it (confirm, release or expiry)
+    private Reservation claim(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new ResourceNotFoundException("Reservation " + reservationId + " not found or expired");
+        }
+        return reservation;
+    }
+
+    private void giveBack(Reservation reservation) {
+        reservation.stock.available.add(reservation.quantity);
+        reservation.stock.held.addAndGet(-reservation.quantity);
+    }
+
+    // One read for the whole batch
+    private Map<String, Book> readBack(List<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().exclude("embedding");
+        Map<String, Book> byId = new HashMap<>();
+        for (Book book : mongoTemplate.find(query, Book.class)) {
+            byId.put(book.getId(), book);
+        }
+        return byId;
+    }
+
+    // Let the change log, caches, counters and indexes see the flushed stock levels
+    private void publishFlushed(Settlement settlement) {
+        if (settlement.written.isEmpty()) {
+            return;
+        }
+        List<BookChangedEvent> changes = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : settlement.written.entrySet()) {
+            Book after = settlement.books.get(entry.getKey());
+            Book before = BookService.copyOf(after);
+            before.setStockQuantity(quantity(after) - entry.getValue().intValue());
+            before.setVersion(after.getVersion() != null ? after.getVersion() - 1 : null);
+            changes.add(BookChangedEvent.updated(before, after));
+        }
+        eventPublisher.publishEvent(new BooksChangedEvent(changes));
+    }
+
+    private static int quantity(Book book) {
+        return book != null && book.getStockQuantity() != null ? book.getStockQuantity() : 0;
+    }
+
+    private static int requirePositive(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be a positive number");
+        }
+        return quantity;
+    }
+
+    private static ReservationDTO toDTO(Reservation reservation, ReservationDTO.Status status) {
+        return new ReservationDTO(reservation.id, reservation.bookId, reservation.quantity, status,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(reservation.expiresAt), ZoneId.systemDefault()));
+    }
+
+    // In-memory stock of one hot book
+    private static final class BookStock {
+
+        final StripedStock available;
+        // Units in open reservations
+        final AtomicLong held = new AtomicLong();
+        // Confirmed change not yet written to Mongo (negative for sales)
+        final AtomicLong unflushed = new AtomicLong();
+        // Confirmed reservations not yet taken by a flush; their quantities make up unflushed
+        final Queue<Reservation> confirmed = new ConcurrentLinkedQueue<>();
+        volatile long lastUsed = System.currentTimeMillis();
+        volatile boolean retired;
+        // Units held or sold here beyond Mongo's stock at the last recount (0 when covered)
+        volatile long deficit;
+
+        BookStock(StripedStock available) {
+            this.available = available;
+        }
+    }
+
+    // One bulk of stock deltas, tagged with the token its updates set as stockFlush
+    private static final class FlushBatch {
+
+        final String token;
+        final List<String> ids;
+        final List<BookStock> stocks;
+        final List<Long> deltas;
+        // Ledgered sales behind each delta
+        final List<List<Reservation>> sales;
+        // Indexes the server reported as failed
+        final Set<Integer> failed = new HashSet<>();
+        boolean outcomeUnknown;
+
+        FlushBatch(String token, List<String> ids, List<BookStock> stocks, List<Long> deltas,
+                List<List<Reservation>> sales) {
+            this.token = token;
+            this.ids = ids;
+            this.stocks = stocks;
+            this.deltas = deltas;
+            this.sales = sales;
+        }
+    }
+
+    // What the read-back of a batch showed
+    private static final class Settlement {
+
+        final Map<String, Book> books;
+        // Indexes whose update applied, and their deltas by book id
+        final Set<Integer> applied = new HashSet<>();
+        final Map<String, Long> written = new HashMap<>();
+
+        Settlement(Map<String, Book> books) {
+            this.books = books;
+        }
+    }
+
+    private static final class Reservation {
+
+        final String id;
+        final String bookId;
+        final int quantity;
+        final long expiresAt;
+        final BookStock stock;
+
+        Reservation(String id, String bookId, int quantity, long expiresAt, BookStock stock) {
+            this.id = id;
+            this.bookId = bookId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+            this.stock = stock;
+        }
+    }
+}
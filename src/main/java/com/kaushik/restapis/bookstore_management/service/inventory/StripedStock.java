@@ -0,0 +1,79 @@
+package com.kaushik.restapis.bookstore_management.service.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Available units of one book split across several counters, so concurrent
+ * reservations mostly CAS different cache lines. A take starts at a random
+ * stripe and moves on to the others when that one runs dry; if the stripes
+ * together cannot cover it, whatever was taken is put back and the take
+ * fails.
+ */
+final class StripedStock {
+
+    // Longs per 64-byte cache line; only every PAD-th slot is used
+    private static final int PAD = 8;
+
+    private final int stripes;
+    private final AtomicLongArray counts;
+
+    StripedStock(int stripes, long initial) {
+        this.stripes = stripes;
+        this.counts = new AtomicLongArray(stripes * PAD);
+        long share = Math.max(initial, 0) / stripes;
+        long rest = Math.max(initial, 0) % stripes;
+        for (int i = 0; i < stripes; i++) {
+            counts.set(i * PAD, share + (i < rest ? 1 : 0));
+        }
+    }
+
+    boolean tryTake(long n) {
+        long taken = take(n);
+        if (taken < n) {
+            add(taken);
+            return false;
+        }
+        return true;
+    }
+
+    // Takes up to n units and returns how many it got
+    long take(long n) {
+        int start = home();
+        long taken = 0;
+        for (int i = 0; i < stripes && taken < n; i++) {
+            int slot = ((start + i) % stripes) * PAD;
+            while (true) {
+                long current = counts.get(slot);
+                if (current <= 0) {
+                    break;
+                }
+                long share = Math.min(current, n - taken);
+                if (counts.compareAndSet(slot, current, current - share)) {
+                    taken += share;
+                    break;
+                }
+            }
+        }
+        return taken;
+    }
+
+    void add(long n) {
+        if (n > 0) {
+            counts.addAndGet(home() * PAD, n);
+        }
+    }
+
+    long total() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += counts.get(i * PAD);
+        }
+        return sum;
+    }
+
+    // Random rather than by thread id: no deprecated Thread.getId, and virtual threads spread as well as platform ones
+    private int home() {
+        return ThreadLocalRandom.current().nextInt(stripes);
+    }
+}
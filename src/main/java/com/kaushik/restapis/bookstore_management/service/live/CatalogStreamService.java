@@ -0,0 +1,302 @@
+package com.kaushik.restapis.bookstore_management.service.live;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kaushik.restapis.bookstore_management.dto.CatalogEventDTO;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes book changes to server-sent event subscribers. Each subscriber has
+ * its own filters (author, category, low-stock threshold) and a bounded
+ * queue; the writer thread that published the change only offers to those
+ * queues and never waits on a network write. A small sender pool drains
+ * them, one task per subscriber at a time.
+ *
+ * A subscriber that falls a full queue behind loses its backlog and gets a
+ * single "resync" event instead, telling the client to reload what it shows.
+ * That keeps memory bounded per connection, and one slow client costs only
+ * its own updates.
+ */
+@Service
+public class CatalogStreamService {
+
+    @Value("${bookstore.live.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${bookstore.live.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${bookstore.live.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${bookstore.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${bookstore.live.default-low-stock-threshold:10}")
+    private int defaultThreshold;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slots taken against maxSubscribers; reserved before a subscriber is added, freed when it is removed
+    private final AtomicInteger slots = new AtomicInteger();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    private ExecutorService sender;
+
+    @PostConstruct
+    void start() {
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // New stream with the given filters, or null when the subscriber limit is reached
+    public SseEmitter subscribe(String authorId, String categoryId, Integer threshold) {
+        if (threshold != null && threshold < 0) {
+            throw new IllegalArgumentException("threshold must be zero or more");
+        }
+        if (!reserveSlot()) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, authorId, categoryId,
+                threshold != null ? threshold : defaultThreshold, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> remove(subscriber));
+        subscribers.add(subscriber);
+        enqueue(subscriber, new Message("ready", Map.of("threshold", subscriber.threshold)));
+        return emitter;
+    }
+
+    // Check and take in one step, so concurrent subscribes cannot overshoot the limit
+    private boolean reserveSlot() {
+        int taken;
+        do {
+            taken = slots.get();
+            if (taken >= maxSubscribers) {
+                return false;
+            }
+        } while (!slots.compareAndSet(taken, taken + 1));
+        return true;
+    }
+
+    // Completion, error and a failed send can all report the same subscriber; only the first frees its slot
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slots.decrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    // After commit when the change ran in a transaction, immediately otherwise
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Book before = event.getBefore();
+        Book after = event.getAfter();
+        String name = event.getType().name().toLowerCase();
+        CatalogEventDTO payload = toDTO(after != null ? after : before);
+        int oldStock = before != null ? stock(before) : Integer.MAX_VALUE;
+        int newStock = after != null ? stock(after) : Integer.MAX_VALUE;
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.matches(before) && !subscriber.matches(after)) {
+                continue;
+            }
+            enqueue(subscriber, new Message(name, payload));
+            int threshold = subscriber.threshold;
+            if (oldStock >= threshold && newStock < threshold) {
+                enqueue(subscriber, new Message("low-stock", withThreshold(payload, threshold)));
+            } else if (oldStock < threshold && newStock >= threshold && after != null) {
+                enqueue(subscriber, new Message("restocked", withThreshold(payload, threshold)));
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${bookstore.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(Message.PING)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long queued = 0;
+        for (Subscriber subscriber : subscribers) {
+            queued += subscriber.queue.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("queuedEvents", queued);
+        stats.put("eventsSent", sent.get());
+        stats.put("resyncs", resyncs.get());
+        return stats;
+    }
+
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (!subscriber.queue.offer(message)) {
+            // Too far behind: drop the backlog and tell the client to reload instead
+            subscriber.queue.clear();
+            subscriber.queue.offer(Message.RESYNC);
+            resyncs.incrementAndGet();
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ex) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Message message;
+            while ((message = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(message.toEvent());
+                sent.incrementAndGet();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client gone or emitter already completed
+            remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Something may have arrived between the last poll and clearing the flag
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private static CatalogEventDTO toDTO(Book book) {
+        CatalogEventDTO dto = new CatalogEventDTO();
+        dto.setBookId(book.getId());
+        dto.setTitle(book.getTitle());
+        dto.setPrice(book.getPrice());
+        dto.setStockQuantity(book.getStockQuantity());
+        dto.setAuthorId(book.getAuthorRef() != null ? book.getAuthorRef().getId() : null);
+        dto.setCategoryId(book.getCategoryRef() != null ? book.getCategoryRef().getId() : null);
+        dto.setVersion(book.getVersion());
+        return dto;
+    }
+
+    private static CatalogEventDTO withThreshold(CatalogEventDTO payload, int threshold) {
+        CatalogEventDTO copy = new CatalogEventDTO();
+        copy.setBookId(payload.getBookId());
+        copy.setTitle(payload.getTitle());
+        copy.setPrice(payload.getPrice());
+        copy.setStockQuantity(payload.getStockQuantity());
+        copy.setAuthorId(payload.getAuthorId());
+        copy.setCategoryId(payload.getCategoryId());
+        copy.setVersion(payload.getVersion());
+        copy.setThreshold(threshold);
+        return copy;
+    }
+
+    private static int stock(Book book) {
+        return book.getStockQuantity() != null ? book.getStockQuantity() : 0;
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final String authorId;
+        final String categoryId;
+        final int threshold;
+        final BlockingQueue<Message> queue;
+        // True while a sender task owns this subscriber
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, String authorId, String categoryId, int threshold, int bufferSize) {
+            this.emitter = emitter;
+            this.authorId = authorId;
+            this.categoryId = categoryId;
+            this.threshold = threshold;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(Book book) {
+            if (book == null) {
+                return false;
+            }
+            return (authorId == null || book.getAuthorRef() != null && Objects.equals(authorId, book.getAuthorRef().getId()))
+                    && (categoryId == null || book.getCategoryRef() != null && Objects.equals(categoryId, book.getCategoryRef().getId()));
+        }
+    }
+
+    // Queued event; SseEventBuilder appends as it builds, so one is made per send
+    private static final class Message {
+
+        static final Message PING = new Message(null, "ping");
+        static final Message RESYNC = new Message("resync", Map.of("reason", "subscriber fell behind"));
+
+        final String name;
+        final Object data;
+
+        Message(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment((String) data);
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
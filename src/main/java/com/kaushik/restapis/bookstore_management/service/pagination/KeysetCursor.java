@@ -0,0 +1,103 @@
+package com.kaushik.restapis.bookstore_management.service.pagination;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and direction plus the
+ * sort value and id of the last item returned. Serialized as base64url JSON
+ * so clients treat it as an opaque token.
+ */
+public class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String sortBy;
+    private final boolean descending;
+    private final Object lastValue;
+    private final String lastId;
+
+    public KeysetCursor(String sortBy, boolean descending, Object lastValue, String lastId) {
+        this.sortBy = sortBy;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Object getLastValue() {
+        return lastValue;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public String encode() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("s", sortBy);
+        m.put("d", descending ? "desc" : "asc");
+        m.put("id", lastId);
+        // Keep the value's type so it is compared as the same BSON type on the way back in
+        if (lastValue == null) {
+            m.put("t", "null");
+        } else if (lastValue instanceof BigDecimal) {
+            m.put("t", "decimal");
+            m.put("v", ((BigDecimal) lastValue).toPlainString());
+        } else if (lastValue instanceof Integer || lastValue instanceof Long) {
+            m.put("t", "long");
+            m.put("v", ((Number) lastValue).longValue());
+        } else if (lastValue instanceof LocalDateTime) {
+            m.put("t", "datetime");
+            m.put("v", lastValue.toString());
+        } else {
+            m.put("t", "string");
+            m.put("v", lastValue.toString());
+        }
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(m);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            Map<?, ?> m = MAPPER.readValue(new String(json, StandardCharsets.UTF_8), Map.class);
+            String type = (String) m.get("t");
+            Object raw = m.get("v");
+            Object value;
+            switch (type) {
+                case "null" -> value = null;
+                case "decimal" -> value = new BigDecimal((String) raw);
+                case "long" -> {
+                    long l = ((Number) raw).longValue();
+                    value = (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) ? (Object) (int) l : (Object) l;
+                }
+                case "datetime" -> value = LocalDateTime.parse((String) raw);
+                case "string" -> value = raw;
+                default -> throw new IllegalArgumentException("unknown value type " + type);
+            }
+            return new KeysetCursor((String) m.get("s"), "desc".equals(m.get("d")), value, (String) m.get("id"));
+        } catch (RuntimeException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.kaushik.restapis.bookstore_management.service.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.kaushik.restapis.bookstore_management.dto.KeysetPage;
+import com.kaushik.restapis.bookstore_management.repository.projection.Projections;
+
+/**
+ * Cursor (keyset) pagination over (sort key, _id). Each page continues from
+ * the last item of the previous one with a range predicate instead of a skip,
+ * so deep pages cost the same as the first one as long as a matching
+ * {sortKey: 1, _id: 1} index exists. Only sort keys backed by such an index
+ * are accepted.
+ */
+@Component
+public class KeysetPaginator {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Response header carrying the token for the next page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * @param entityType  mapped entity (collection and field mapping)
+     * @param resultType  entity or projection interface to read into
+     * @param filter      extra criteria, may be null
+     * @param cursor      token from a previous page; empty or null for the first page
+     * @param sortKeys    API sort name -> entity property, all backed by an index
+     */
+    public <T> KeysetPage<T> page(Class<?> entityType, Class<T> resultType, Criteria filter,
+            String cursor, int size, String sortBy, String sortDir, Map<String, String> sortKeys) {
+        return page(entityType, resultType, null, filter, cursor, size, sortBy, sortDir, sortKeys);
+    }
+
+    /**
+     * Same, reading only the given entity properties (plus the sort key)
+     * instead of those of the result type.
+     */
+    public <T> KeysetPage<T> page(Class<?> entityType, Class<T> resultType, List<String> fields, Criteria filter,
+            String cursor, int size, String sortBy, String sortDir, Map<String, String> sortKeys) {
+        KeysetCursor position = null;
+        String property;
+        boolean descending;
+        if (cursor != null && !cursor.isBlank()) {
+            // The token carries the sort it was issued for, so later pages can't switch order midway
+            position = KeysetCursor.decode(cursor);
+            property = position.getSortBy();
+            descending = position.isDescending();
+            if (!sortKeys.containsValue(property)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        } else {
+            property = sortKeys.get(sortBy);
+            if (property == null) {
+                throw new IllegalArgumentException("Cursor pagination supports sortBy in " + sortKeys.keySet());
+            }
+            descending = "desc".equalsIgnoreCase(sortDir);
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<Criteria> clauses = new ArrayList<>();
+        if (filter != null) {
+            clauses.add(filter);
+        }
+        if (position != null) {
+            clauses.add(after(property, descending, position.getLastValue(), position.getLastId()));
+        }
+        Query query = new Query();
+        if (!clauses.isEmpty()) {
+            query.addCriteria(clauses.size() == 1 ? clauses.get(0) : new Criteria().andOperator(clauses));
+        }
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        query.with(property.equals("id")
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, property).and(Sort.by(direction, "id")));
+        // One extra row tells us whether there is a next page
+        query.limit(limit + 1);
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+            query.fields().include("id").include(property);
+        } else {
+            Projections.include(query, resultType);
+        }
+
+        List<T> rows = mongoTemplate.query(entityType).as(resultType).matching(query).all();
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+
+        String next = null;
+        if (hasMore) {
+            BeanWrapperImpl last = new BeanWrapperImpl(items.get(items.size() - 1));
+            Object lastValue = property.equals("id") ? null : last.getPropertyValue(property);
+            String lastId = String.valueOf(last.getPropertyValue("id"));
+            next = new KeysetCursor(property, descending, lastValue, lastId).encode();
+        }
+        return new KeysetPage<>(items, next);
+    }
+
+    // Rows strictly after (lastValue, lastId) in the given order; MongoDB sorts nulls first
+    static Criteria after(String property, boolean descending, Object lastValue, String rawLastId) {
+        Object lastId = idValue(rawLastId);
+        if (property.equals("id")) {
+            return descending ? Criteria.where("id").lt(lastId) : Criteria.where("id").gt(lastId);
+        }
+        if (!descending) {
+            if (lastValue == null) {
+                return new Criteria().orOperator(
+                        new Criteria().andOperator(Criteria.where(property).is(null), Criteria.where("id").gt(lastId)),
+                        Criteria.where(property).ne(null));
+            }
+            return new Criteria().orOperator(
+                    Criteria.where(property).gt(lastValue),
+                    new Criteria().andOperator(Criteria.where(property).is(lastValue), Criteria.where("id").gt(lastId)));
+        }
+        if (lastValue == null) {
+            return new Criteria().andOperator(Criteria.where(property).is(null), Criteria.where("id").lt(lastId));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(property).lt(lastValue),
+                new Criteria().andOperator(Criteria.where(property).is(lastValue), Criteria.where("id").lt(lastId)),
+                Criteria.where(property).is(null));
+    }
+
+    // Range operators on _id are not converted by the query mapper, so compare as ObjectId ourselves
+    private static Object idValue(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
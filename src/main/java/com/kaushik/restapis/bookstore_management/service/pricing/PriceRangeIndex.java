@@ -0,0 +1,210 @@
+package com.kaushik.restapis.bookstore_management.service.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.service.concurrent.RebuildableIndex;
+
+/**
+ * Every book price, in cents, in one sorted long[]. A range count is two
+ * binary searches, so price histograms and "n books between x and y" never
+ * touch Mongo. Built at startup and on a schedule; price changes in between
+ * are applied from change events, a whole batch (import chunk, bulk update
+ * chunk) per copy of the array. Changes that arrive while a rebuild streams
+ * the catalog are buffered and replayed onto the new array before it is
+ * swapped in.
+ */
+@Service
+public class PriceRangeIndex extends RebuildableIndex<Map<String, Long>, BookChangedEvent> {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile long[] cents = new long[0];
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${bookstore.pricing.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${bookstore.pricing.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (reload()) {
+            ready = true;
+        }
+    }
+
+    // Prices by id, so a buffered change replaces whatever price the stream read for that book
+    @Override
+    protected Map<String, Long> load() {
+        Map<String, Long> prices = new HashMap<>();
+        Query query = new Query();
+        query.fields().include("price");
+        try (Stream<Book> books = mongoTemplate.stream(query, Book.class)) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                if (book.getPrice() != null) {
+                    prices.put(book.getId(), toCents(book.getPrice()));
+                }
+            }
+        }
+        return prices;
+    }
+
+    @Override
+    protected void install(Map<String, Long> prices, List<BookChangedEvent> missed) {
+        for (BookChangedEvent change : missed) {
+            Book after = change.getAfter();
+            if (after == null || after.getPrice() == null) {
+                prices.remove(change.getBookId());
+            } else {
+                prices.put(change.getBookId(), toCents(after.getPrice()));
+            }
+        }
+        long[] values = prices.values().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(values);
+        cents = values;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Books priced within [min, max]; either bound may be null for open-ended
+    public int count(BigDecimal min, BigDecimal max) {
+        long[] current = cents;
+        int from = min == null ? 0 : lowerBound(current, min.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue());
+        int to = max == null ? current.length : upperBound(current, max.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue());
+        return Math.max(to - from, 0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        update(event.getChanges());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        update(event);
+    }
+
+    @Override
+    protected void apply(BookChangedEvent event) {
+        applyAll(List.of(event));
+    }
+
+    // A whole batch per copy of the array
+    @Override
+    protected void applyAll(List<? extends BookChangedEvent> changes) {
+        // Net effect per book: its price before the first change and after the last
+        Map<String, BigDecimal[]> net = new LinkedHashMap<>();
+        for (BookChangedEvent change : changes) {
+            BigDecimal before = change.getBefore() != null ? change.getBefore().getPrice() : null;
+            BigDecimal after = change.getAfter() != null ? change.getAfter().getPrice() : null;
+            net.computeIfAbsent(change.getBookId(), id -> new BigDecimal[] { before, null })[1] = after;
+        }
+        List<Long> removed = new ArrayList<>();
+        List<Long> added = new ArrayList<>();
+        for (BigDecimal[] prices : net.values()) {
+            if (Objects.equals(prices[0], prices[1])) {
+                continue;
+            }
+            if (prices[0] != null) {
+                removed.add(toCents(prices[0]));
+            }
+            if (prices[1] != null) {
+                added.add(toCents(prices[1]));
+            }
+        }
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            cents = merge(cents, sorted(removed), sorted(added));
+        }
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    // First index with value >= key
+    private static int lowerBound(long[] values, long key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First index with value > key
+    private static int upperBound(long[] values, long key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // One pass over the sorted values: drops one occurrence of each removed value, merges in the added ones
+    static long[] merge(long[] values, long[] removed, long[] added) {
+        long[] result = new long[values.length + added.length];
+        int size = 0;
+        int r = 0;
+        int a = 0;
+        for (long value : values) {
+            while (r < removed.length && removed[r] < value) {
+                r++;
+            }
+            if (r < removed.length && removed[r] == value) {
+                r++;
+                continue;
+            }
+            while (a < added.length && added[a] <= value) {
+                result[size++] = added[a++];
+            }
+            result[size++] = value;
+        }
+        while (a < added.length) {
+            result[size++] = added[a++];
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static long[] sorted(List<Long> values) {
+        long[] result = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+}
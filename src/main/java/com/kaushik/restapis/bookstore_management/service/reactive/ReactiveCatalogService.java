@@ -0,0 +1,144 @@
+package com.kaushik.restapis.bookstore_management.service.reactive;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveFindOperation.TerminatingFind;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.kaushik.restapis.bookstore_management.dto.BookDTO;
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.exceptions.ResourceNotFoundException;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookEmbedding;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookListSnapshot;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookSnapshot;
+import com.kaushik.restapis.bookstore_management.repository.reactive.ReactiveAuthorRepository;
+import com.kaushik.restapis.bookstore_management.repository.reactive.ReactiveCategoryRepository;
+import com.kaushik.restapis.bookstore_management.service.BookService;
+import com.kaushik.restapis.bookstore_management.service.ai.EmbeddingService;
+import com.kaushik.restapis.bookstore_management.service.ai.SimilarityRanker;
+import com.kaushik.restapis.bookstore_management.service.cache.LookupCaches;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read paths of the catalog and the AI endpoints without blocking a thread
+ * on Mongo or on the embedding provider. Single lookups share the Caffeine
+ * caches with the blocking services (a hit never touches Mongo) and are
+ * evicted by the same change events.
+ *
+ * Books are mapped from their embedded author/category snapshots only; the
+ * DBRef fallback of the blocking path needs DBRef resolution, which the
+ * reactive driver does not do. BookReferenceBackfill fills the snapshots in
+ * at startup, so this only matters for books written around it. Books are
+ * read through the template's projections: reactive repository finders
+ * return interface projections as plain maps in this Spring Data version.
+ */
+@Service
+@ConditionalOnProperty(name = "bookstore.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogService {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReactiveAuthorRepository authorRepository;
+
+    @Autowired
+    private ReactiveCategoryRepository categoryRepository;
+
+    @Autowired
+    private EmbeddingService embeddingService;
+
+    @Autowired
+    private LookupCaches lookupCaches;
+
+    public Flux<BookDTO> getBooks(String authorId, String categoryId, Pageable pageable) {
+        // DBRef equality, same shape as BookSearchCriteria
+        Query query = new Query();
+        if (authorId != null) {
+            query.addCriteria(Criteria.where("author.id").is(authorId));
+        }
+        if (categoryId != null) {
+            query.addCriteria(Criteria.where("category.id").is(categoryId));
+        }
+        return books(query.with(pageable), BookListSnapshot.class).all().map(ReactiveCatalogService::toDTO);
+    }
+
+    public Mono<BookDTO> getBookById(String id) {
+        return cached(LookupCaches.BOOKS, id, BookDTO.class,
+                books(Query.query(Criteria.where("id").is(id)), BookSnapshot.class).one().map(ReactiveCatalogService::toDTO))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book not found with id: " + id)));
+    }
+
+    public Mono<BookDTO> getBookByIsbn(String isbn) {
+        return cached(LookupCaches.BOOKS_BY_ISBN, isbn, BookDTO.class,
+                books(Query.query(Criteria.where("isbn").is(isbn)), BookSnapshot.class).one().map(ReactiveCatalogService::toDTO))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book not found with ISBN: " + isbn)));
+    }
+
+    public Flux<Author> getAuthors(Pageable pageable) {
+        return authorRepository.findAllBy(pageable);
+    }
+
+    public Mono<Author> getAuthorById(String id) {
+        return cached(LookupCaches.AUTHORS, id, Author.class, authorRepository.findProjectedById(id))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Author with id " + id + " not found")));
+    }
+
+    public Flux<Category> getCategories(Pageable pageable) {
+        return categoryRepository.findAllBy(pageable);
+    }
+
+    public Mono<Category> getCategoryById(String id) {
+        return cached(LookupCaches.CATEGORIES, id, Category.class, categoryRepository.findProjectedById(id))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Category not found with id " + id)));
+    }
+
+    // Embeds the query and loads the candidates at the same time, then ranks them
+    public Mono<List<Map<String, Object>>> semanticSearch(String q, int size) {
+        return Mono.fromFuture(() -> embeddingService.embedTextAsync(q))
+                .zipWith(withEmbedding().collectList())
+                .map(pair -> SimilarityRanker.top(pair.getT1(), pair.getT2(), null, size));
+    }
+
+    public Mono<List<Map<String, Object>>> recommendByBook(String bookId, int size) {
+        return books(Query.query(Criteria.where("id").is(bookId)), BookEmbedding.class).one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book not found with id: " + bookId)))
+                .filter(book -> book.getEmbedding() != null)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Book " + bookId + " has no embedding yet")))
+                .flatMap(book -> withEmbedding().collectList()
+                        .map(candidates -> SimilarityRanker.top(book.getEmbedding(), candidates, bookId, size)));
+    }
+
+    private <T> TerminatingFind<T> books(Query query, Class<T> type) {
+        return mongoTemplate.query(Book.class).as(type).matching(query);
+    }
+
+    // Books that already have an embedding (AI similarity candidates)
+    private Flux<BookEmbedding> withEmbedding() {
+        return books(Query.query(Criteria.where("embeddingUpdatedAt").ne(null)), BookEmbedding.class).all();
+    }
+
+    // Cache hit as-is, otherwise the loader's result, stored for both serving modes
+    private <T> Mono<T> cached(String cacheName, String key, Class<T> type, Mono<T> loader) {
+        T hit = lookupCaches.peek(cacheName, key, type);
+        if (hit != null) {
+            return Mono.just(hit);
+        }
+        return loader.doOnNext(value -> lookupCaches.putIfAbsent(cacheName, key, value));
+    }
+
+    private static BookDTO toDTO(BookListSnapshot book) {
+        return BookService.toDTO(book, book.getAuthorRef(), book.getCategoryRef());
+    }
+}
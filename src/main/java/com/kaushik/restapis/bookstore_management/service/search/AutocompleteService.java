@@ -0,0 +1,316 @@
+package com.kaushik.restapis.bookstore_management.service.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.dto.SuggestionDTO;
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
+import com.kaushik.restapis.bookstore_management.exceptions.ResourceNotFoundException;
+import com.kaushik.restapis.bookstore_management.service.concurrent.RebuildableIndex;
+
+/**
+ * Typeahead over book titles, author names and category names, one
+ * {@link CompletionTrie} per type. Weights are popularity: the number of
+ * books for authors and categories, plus how often a suggestion has been
+ * picked (reported through {@link #recordSelection}). Tries are built at
+ * startup and on a schedule, and patched from change events in between;
+ * events that arrive while a rebuild streams the catalog are replayed onto
+ * the new tries before they are swapped in.
+ */
+@Service
+public class AutocompleteService extends RebuildableIndex<AutocompleteService.Build, Object> {
+
+    public enum Type {
+        BOOK, AUTHOR, CATEGORY
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${bookstore.autocomplete.top-k:10}")
+    private int topK;
+
+    @Value("${bookstore.autocomplete.max-prefix-length:16}")
+    private int maxPrefixLength;
+
+    private volatile Map<Type, CompletionTrie> tries = emptyTries(10, 16);
+
+    // Books per author/category id; maintained from events between rebuilds
+    private final Map<String, Long> bookCounts = new ConcurrentHashMap<>();
+
+    // Times each suggestion was picked ("TYPE:id"); survives rebuilds
+    private final Map<String, Long> selections = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${bookstore.autocomplete.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${bookstore.autocomplete.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (reload()) {
+            Map<Type, CompletionTrie> current = tries;
+            lastRebuild = LocalDateTime.now();
+            System.out.println("AutocompleteService: indexed " + current.get(Type.BOOK).size() + " books, "
+                    + current.get(Type.AUTHOR).size() + " authors, " + current.get(Type.CATEGORY).size() + " categories");
+        }
+    }
+
+    @Override
+    protected Build load() {
+        Build build = new Build(emptyTries(topK, maxPrefixLength));
+        Query bookQuery = new Query();
+        bookQuery.fields().include("title", "authorRef", "categoryRef");
+        try (Stream<Book> books = mongoTemplate.stream(bookQuery, Book.class)) {
+            books.forEach(book -> {
+                build.tries.get(Type.BOOK).put(book.getId(), book.getTitle(), weight(Type.BOOK, book.getId(), 0));
+                countRef(build.counts, book.getAuthorRef(), 1);
+                countRef(build.counts, book.getCategoryRef(), 1);
+                build.counted.put(book.getId(), refIds(book));
+            });
+        }
+        try (Stream<Author> authors = mongoTemplate.stream(nameOnly(), Author.class)) {
+            authors.forEach(a -> build.tries.get(Type.AUTHOR).put(a.getId(), a.getName(),
+                    weight(Type.AUTHOR, a.getId(), build.counts.getOrDefault(a.getId(), 0L))));
+        }
+        try (Stream<Category> categories = mongoTemplate.stream(nameOnly(), Category.class)) {
+            categories.forEach(c -> build.tries.get(Type.CATEGORY).put(c.getId(), c.getName(),
+                    weight(Type.CATEGORY, c.getId(), build.counts.getOrDefault(c.getId(), 0L))));
+        }
+        return build;
+    }
+
+    @Override
+    protected void install(Build build, List<Object> missed) {
+        bookCounts.clear();
+        bookCounts.putAll(build.counts);
+        for (Object event : missed) {
+            if (event instanceof BookChangedEvent change) {
+                // Counts move from whatever the stream counted for this book, so a change it already saw moves nothing
+                String[] before = build.counted.get(change.getBookId());
+                String[] after = change.getAfter() != null ? refIds(change.getAfter()) : null;
+                applyBook(build.tries, change, before, after);
+                build.counted.put(change.getBookId(), after);
+            } else {
+                apply(build.tries, event);
+            }
+        }
+        tries = build.tries;
+    }
+
+    // Top completions for the prefix across the requested types, most popular first
+    public List<SuggestionDTO> complete(String prefix, Set<Type> types, int limit) {
+        Map<Type, CompletionTrie> current = tries;
+        List<Map.Entry<Type, CompletionTrie.Completion>> hits = new ArrayList<>();
+        for (Type type : types) {
+            for (CompletionTrie.Completion c : current.get(type).complete(prefix, limit)) {
+                hits.add(Map.entry(type, c));
+            }
+        }
+        hits.sort(Comparator.comparingLong((Map.Entry<Type, CompletionTrie.Completion> e) -> e.getValue().getWeight())
+                .reversed());
+        List<SuggestionDTO> result = new ArrayList<>();
+        for (Map.Entry<Type, CompletionTrie.Completion> hit : hits.subList(0, Math.min(limit, hits.size()))) {
+            CompletionTrie.Completion c = hit.getValue();
+            result.add(new SuggestionDTO(hit.getKey().name().toLowerCase(Locale.ROOT), c.getId(), c.getText()));
+        }
+        return result;
+    }
+
+    // A user picked this suggestion; it ranks higher from now on
+    public void recordSelection(Type type, String id) {
+        CompletionTrie trie = tries.get(type);
+        CompletionTrie.Completion current = trie.get(id);
+        if (current == null) {
+            throw new ResourceNotFoundException("No " + type.name().toLowerCase(Locale.ROOT) + " suggestion with id " + id);
+        }
+        selections.merge(key(type, id), 1L, Long::sum);
+        trie.put(id, current.getText(), current.getWeight() + 1);
+    }
+
+    public static Set<Type> parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return EnumSet.allOf(Type.class);
+        }
+        Set<Type> result = EnumSet.noneOf(Type.class);
+        for (String t : types.split(",")) {
+            try {
+                result.add(Type.valueOf(t.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown suggestion type: " + t.trim() + " (use book, author, category)");
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<Type, CompletionTrie> current = tries;
+        Map<String, Object> status = new HashMap<>();
+        status.put("books", current.get(Type.BOOK).size());
+        status.put("authors", current.get(Type.AUTHOR).size());
+        status.put("categories", current.get(Type.CATEGORY).size());
+        status.put("selections", selections.size());
+        status.put("lastRebuild", lastRebuild);
+        return status;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        update(event.getChanges());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        update(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        update(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        update(event);
+    }
+
+    @Override
+    protected void apply(Object event) {
+        apply(tries, event);
+    }
+
+    private void apply(Map<Type, CompletionTrie> target, Object event) {
+        if (event instanceof BookChangedEvent change) {
+            applyBook(target, change, change.getBefore() != null ? refIds(change.getBefore()) : null,
+                    change.getAfter() != null ? refIds(change.getAfter()) : null);
+        } else if (event instanceof AuthorChangedEvent change) {
+            Author author = change.getAuthor();
+            if (change.getType() == AuthorChangedEvent.ChangeType.DELETED) {
+                target.get(Type.AUTHOR).remove(author.getId());
+            } else if (change.getType() == AuthorChangedEvent.ChangeType.CREATED || change.isRenamed()) {
+                target.get(Type.AUTHOR).put(author.getId(), author.getName(),
+                        weight(Type.AUTHOR, author.getId(), bookCounts.getOrDefault(author.getId(), 0L)));
+            }
+        } else if (event instanceof CategoryChangedEvent change) {
+            Category category = change.getCategory();
+            if (change.getType() == CategoryChangedEvent.ChangeType.DELETED) {
+                target.get(Type.CATEGORY).remove(category.getId());
+            } else if (change.getType() == CategoryChangedEvent.ChangeType.CREATED || change.isRenamed()) {
+                target.get(Type.CATEGORY).put(category.getId(), category.getName(),
+                        weight(Type.CATEGORY, category.getId(), bookCounts.getOrDefault(category.getId(), 0L)));
+            }
+        }
+    }
+
+    // oldRefs/newRefs: {authorId, categoryId} the book counted under before and after the change
+    private void applyBook(Map<Type, CompletionTrie> target, BookChangedEvent event, String[] oldRefs, String[] newRefs) {
+        Book before = event.getBefore();
+        Book after = event.getAfter();
+        if (after == null) {
+            target.get(Type.BOOK).remove(event.getBookId());
+        } else if (before == null || !Objects.equals(before.getTitle(), after.getTitle())
+                || target.get(Type.BOOK).get(after.getId()) == null) {
+            target.get(Type.BOOK).put(after.getId(), after.getTitle(), weight(Type.BOOK, after.getId(), 0));
+        }
+        String oldAuthor = oldRefs != null ? oldRefs[0] : null;
+        String newAuthor = newRefs != null ? newRefs[0] : null;
+        if (!Objects.equals(oldAuthor, newAuthor)) {
+            adjustCount(target.get(Type.AUTHOR), Type.AUTHOR, oldAuthor, -1);
+            adjustCount(target.get(Type.AUTHOR), Type.AUTHOR, newAuthor, 1);
+        }
+        String oldCategory = oldRefs != null ? oldRefs[1] : null;
+        String newCategory = newRefs != null ? newRefs[1] : null;
+        if (!Objects.equals(oldCategory, newCategory)) {
+            adjustCount(target.get(Type.CATEGORY), Type.CATEGORY, oldCategory, -1);
+            adjustCount(target.get(Type.CATEGORY), Type.CATEGORY, newCategory, 1);
+        }
+    }
+
+    private void adjustCount(CompletionTrie trie, Type type, String refId, long delta) {
+        if (refId == null) {
+            return;
+        }
+        long count = bookCounts.merge(refId, delta, Long::sum);
+        CompletionTrie.Completion current = trie.get(refId);
+        if (current != null) {
+            trie.put(refId, current.getText(), weight(type, refId, Math.max(count, 0)));
+        }
+    }
+
+    private long weight(Type type, String id, long bookCount) {
+        return bookCount + selections.getOrDefault(key(type, id), 0L);
+    }
+
+    private static void countRef(Map<String, Long> counts, EntityRef ref, long delta) {
+        if (ref != null && ref.getId() != null) {
+            counts.merge(ref.getId(), delta, Long::sum);
+        }
+    }
+
+    private static String[] refIds(Book book) {
+        EntityRef author = book.getAuthorRef();
+        EntityRef category = book.getCategoryRef();
+        return new String[] {author != null ? author.getId() : null, category != null ? category.getId() : null};
+    }
+
+    private static String key(Type type, String id) {
+        return type.name() + ":" + id;
+    }
+
+    private static Query nameOnly() {
+        Query query = new Query();
+        query.fields().include("name");
+        return query;
+    }
+
+    private static Map<Type, CompletionTrie> emptyTries(int k, int maxDepth) {
+        Map<Type, CompletionTrie> map = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            map.put(type, new CompletionTrie(k, maxDepth));
+        }
+        return map;
+    }
+
+    // A rebuild's tries plus the book counts it streamed, and the author/category id each book was counted under
+    static final class Build {
+
+        final Map<Type, CompletionTrie> tries;
+        final Map<String, Long> counts = new HashMap<>();
+        final Map<String, String[]> counted = new HashMap<>();
+
+        Build(Map<Type, CompletionTrie> tries) {
+            this.tries = tries;
+        }
+    }
+}
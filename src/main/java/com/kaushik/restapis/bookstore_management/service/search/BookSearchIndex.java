@@ -0,0 +1,404 @@
+package com.kaushik.restapis.bookstore_management.service.search;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.CategoryChangedEvent;
+import com.kaushik.restapis.bookstore_management.service.concurrent.RebuildableIndex;
+
+/**
+ * In-memory inverted index over book title, description, author name and
+ * category name. Text is lower-cased and stripped of accents, then indexed
+ * two ways: whole words (sorted, so short terms can be prefix-matched) and
+ * character trigrams of every word (so any substring of three or more
+ * characters is found by intersecting posting lists instead of scanning).
+ *
+ * Every query term must match; hits are ranked by where and how each term
+ * matched (exact word > word prefix > substring, title > author > category >
+ * description). The index is built at startup, rebuilt periodically and kept
+ * in sync from book/author/category change events in between; events that
+ * arrive while a rebuild streams the catalog are replayed onto the new index
+ * before it is swapped in.
+ */
+@Service
+public class BookSearchIndex extends RebuildableIndex<BookSearchIndex.Index, Object> {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    static final int TITLE = 0;
+    static final int AUTHOR = 1;
+    static final int CATEGORY = 2;
+    static final int DESCRIPTION = 3;
+    private static final double[] FIELD_WEIGHTS = {4.0, 3.0, 2.0, 1.0};
+
+    private static final double EXACT = 3.0;
+    private static final double PREFIX = 2.0;
+    private static final double SUBSTRING = 1.0;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile Index index = new Index();
+
+    private volatile boolean ready;
+
+    private volatile LocalDateTime lastRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    // Full rebuild from the database; the new index is swapped in atomically
+    @Scheduled(initialDelayString = "${bookstore.search.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${bookstore.search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (reload()) {
+            Index current = index;
+            ready = true;
+            lastRebuild = LocalDateTime.now();
+            System.out.println("BookSearchIndex: indexed " + current.docs.size() + " books, "
+                    + current.grams.size() + " trigrams, " + current.words.size() + " words");
+        }
+    }
+
+    @Override
+    protected Index load() {
+        Index fresh = new Index();
+        Query query = new Query();
+        query.fields().include("title", "description", "authorRef", "categoryRef");
+        try (Stream<Book> books = mongoTemplate.stream(query, Book.class)) {
+            books.forEach(b -> fresh.put(toDoc(b)));
+        }
+        return fresh;
+    }
+
+    // Every event re-puts, removes or renames by id, so replaying one the stream already saw is harmless
+    @Override
+    protected void install(Index fresh, List<Object> missed) {
+        missed.forEach(event -> apply(fresh, event));
+        index = fresh;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        update(event.getChanges());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        update(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.isRenamed()) {
+            update(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isRenamed()) {
+            update(event);
+        }
+    }
+
+    @Override
+    protected void apply(Object event) {
+        apply(index, event);
+    }
+
+    private void apply(Index target, Object event) {
+        if (event instanceof AuthorChangedEvent authorChanged) {
+            reindexReference(target, AUTHOR, authorChanged.getAuthor().getId(), authorChanged.getAuthor().getName());
+        } else if (event instanceof CategoryChangedEvent categoryChanged) {
+            reindexReference(target, CATEGORY, categoryChanged.getCategory().getId(), categoryChanged.getCategory().getName());
+        } else if (event instanceof BookChangedEvent bookChanged) {
+            if (bookChanged.getType() == BookChangedEvent.ChangeType.DELETED) {
+                target.remove(bookChanged.getBookId());
+                return;
+            }
+            Doc doc = toDoc(bookChanged.getAfter());
+            Doc old = target.docs.get(doc.id);
+            // Stock/price updates don't touch indexed text
+            if (old == null || !Arrays.equals(old.fields, doc.fields)) {
+                target.put(doc);
+            }
+        }
+    }
+
+    // Ranked ids of books matching every term of the query
+    public List<String> search(String text, int limit) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Index current = index;
+        Map<String, Double> scores = null;
+        // Most selective term first, so later terms only verify a small candidate set
+        List<Set<String>> candidates = new ArrayList<>();
+        for (String term : terms) {
+            candidates.add(current.candidates(term));
+        }
+        Integer[] order = new Integer[terms.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> candidates.get(i).size()));
+
+        for (int i : order) {
+            String term = terms.get(i);
+            Map<String, Double> next = new HashMap<>();
+            Collection<String> ids = scores == null ? candidates.get(i) : scores.keySet();
+            Set<String> allowed = candidates.get(i);
+            for (String id : ids) {
+                if (!allowed.contains(id)) {
+                    continue;
+                }
+                Doc doc = current.docs.get(id);
+                double score = doc != null ? doc.score(term) : 0;
+                if (score > 0) {
+                    next.put(id, (scores == null ? 0 : scores.get(id)) + score);
+                }
+            }
+            scores = next;
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        Map<String, Double> ranked = scores;
+        List<Doc> hits = new ArrayList<>();
+        for (String id : ranked.keySet()) {
+            Doc doc = current.docs.get(id);
+            if (doc != null) {
+                hits.add(doc);
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.<Doc>comparingDouble(d -> ranked.get(d.id)).reversed()
+                        .thenComparing(d -> d.fields[TITLE]))
+                .limit(limit)
+                .map(d -> d.id)
+                .toList();
+    }
+
+    public Map<String, Object> getStatus() {
+        Index current = index;
+        Map<String, Object> status = new HashMap<>();
+        status.put("ready", ready);
+        status.put("indexedBooks", current.docs.size());
+        status.put("trigrams", current.grams.size());
+        status.put("words", current.words.size());
+        status.put("lastRebuild", lastRebuild);
+        return status;
+    }
+
+    private void reindexReference(Index current, int field, String refId, String name) {
+        String normalized = normalize(name);
+        for (Doc doc : current.docs.values()) {
+            if (Objects.equals(doc.refIds[field == AUTHOR ? 0 : 1], refId)
+                    && !Objects.equals(doc.fields[field], normalized)) {
+                String[] fields = doc.fields.clone();
+                fields[field] = normalized;
+                current.put(new Doc(doc.id, fields, doc.refIds));
+            }
+        }
+    }
+
+    private static Doc toDoc(Book book) {
+        EntityRef author = book.getAuthorRef();
+        EntityRef category = book.getCategoryRef();
+        String[] fields = new String[4];
+        fields[TITLE] = normalize(book.getTitle());
+        fields[AUTHOR] = normalize(author != null ? author.getName() : null);
+        fields[CATEGORY] = normalize(category != null ? category.getName() : null);
+        fields[DESCRIPTION] = normalize(book.getDescription());
+        String[] refIds = {author != null ? author.getId() : null, category != null ? category.getId() : null};
+        return new Doc(book.getId(), fields, refIds);
+    }
+
+    // Lower case, accents removed, runs of punctuation collapsed to one space
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(folded.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    static List<String> terms(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(normalized.split(" "))));
+    }
+
+    static void trigrams(String word, Set<String> out) {
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            out.add(word.substring(i, i + 3));
+        }
+    }
+
+    private static final class Doc {
+
+        final String id;
+        // Normalized text per field (TITLE, AUTHOR, CATEGORY, DESCRIPTION)
+        final String[] fields;
+        // Author and category ids, to find books affected by a rename
+        final String[] refIds;
+        final List<Set<String>> fieldWords = new ArrayList<>(4);
+
+        Doc(String id, String[] fields, String[] refIds) {
+            this.id = id;
+            this.fields = fields;
+            this.refIds = refIds;
+            for (String field : fields) {
+                fieldWords.add(field.isEmpty() ? Set.of() : new HashSet<>(Arrays.asList(field.split(" "))));
+            }
+        }
+
+        Set<String> words() {
+            Set<String> all = new HashSet<>();
+            fieldWords.forEach(all::addAll);
+            return all;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String word : words()) {
+                trigrams(word, grams);
+            }
+            return grams;
+        }
+
+        // Best match quality per field, weighted by field; 0 if the term does not occur
+        double score(String term) {
+            double total = 0;
+            for (int f = 0; f < fields.length; f++) {
+                double quality = 0;
+                if (fieldWords.get(f).contains(term)) {
+                    quality = EXACT;
+                } else if (fields[f].startsWith(term) || fields[f].contains(" " + term)) {
+                    quality = PREFIX;
+                } else if (fields[f].contains(term)) {
+                    quality = SUBSTRING;
+                }
+                total += quality * FIELD_WEIGHTS[f];
+            }
+            return total;
+        }
+    }
+
+    static final class Index {
+
+        final Map<String, Doc> docs = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> grams = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, Set<String>> words = new ConcurrentSkipListMap<>();
+
+        void put(Doc doc) {
+            if (doc.id == null) {
+                return;
+            }
+            remove(doc.id);
+            docs.put(doc.id, doc);
+            for (String gram : doc.grams()) {
+                add(grams, gram, doc.id);
+            }
+            for (String word : doc.words()) {
+                add(words, word, doc.id);
+            }
+        }
+
+        void remove(String id) {
+            Doc old = docs.remove(id);
+            if (old == null) {
+                return;
+            }
+            for (String gram : old.grams()) {
+                drop(grams, gram, id);
+            }
+            for (String word : old.words()) {
+                drop(words, word, id);
+            }
+        }
+
+        // Books that may contain the term: trigram intersection, or word prefix for terms under three characters
+        Set<String> candidates(String term) {
+            if (term.length() < 3) {
+                Set<String> result = new HashSet<>();
+                for (Set<String> ids : words.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                    result.addAll(ids);
+                }
+                return result;
+            }
+            Set<String> termGrams = new HashSet<>();
+            trigrams(term, termGrams);
+            List<Set<String>> postings = new ArrayList<>();
+            for (String gram : termGrams) {
+                Set<String> ids = grams.get(gram);
+                if (ids == null) {
+                    return Set.of();
+                }
+                postings.add(ids);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            Set<String> result = new HashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                result.retainAll(postings.get(i));
+            }
+            return result;
+        }
+
+        private static void add(Map<String, Set<String>> postings, String key, String id) {
+            postings.compute(key, (k, ids) -> {
+                Set<String> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                set.add(id);
+                return set;
+            });
+        }
+
+        private static void drop(Map<String, Set<String>> postings, String key, String id) {
+            postings.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
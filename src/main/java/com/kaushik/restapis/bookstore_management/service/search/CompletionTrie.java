@@ -0,0 +1,300 @@
+package com.kaushik.restapis.bookstore_management.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Prefix tree for typeahead. Every node caches the top-k completions of its
+ * subtree by weight, so a lookup is a walk down the prefix plus a copy of at
+ * most k entries, independent of how many strings share the prefix.
+ *
+ * Each entry is reachable from its full text and from the start of each
+ * significant word ("knuth" finds "Donald E. Knuth"). Paths stop at
+ * {@code maxDepth}; the node there keeps every entry passing through it and
+ * longer prefixes are answered by filtering that list.
+ *
+ * Writers are serialized with a lock and only publish new arrays; readers
+ * never lock.
+ */
+final class CompletionTrie {
+
+    private static final Set<String> STOPWORDS = Set.of("a", "an", "and", "the", "of", "in", "on", "for", "to", "with");
+    private static final int MAX_WORD_KEYS = 4;
+
+    private static final Comparator<Completion> RANK = Comparator.comparingLong(Completion::getWeight).reversed()
+            .thenComparing(Completion::getText);
+
+    private final int k;
+    private final int maxDepth;
+    private final Node root = new Node();
+    private final Map<String, Completion> entries = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    CompletionTrie(int k, int maxDepth) {
+        this.k = k;
+        this.maxDepth = maxDepth;
+    }
+
+    // Adds or replaces the entry with this id
+    void put(String id, String text, long weight) {
+        writeLock.lock();
+        try {
+            removeLocked(id);
+            Completion completion = new Completion(id, text, weight);
+            entries.put(id, completion);
+            for (String key : keys(text)) {
+                insert(key, completion);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void remove(String id) {
+        writeLock.lock();
+        try {
+            removeLocked(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    Completion get(String id) {
+        writeLock.lock();
+        try {
+            return entries.get(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Best completions for the prefix, highest weight first
+    List<Completion> complete(String prefix, int limit) {
+        String key = BookSearchIndex.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int depth = Math.min(key.length(), maxDepth);
+        for (int i = 0; i < depth && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        if (key.length() <= maxDepth) {
+            Completion[] top = node.top;
+            return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+        }
+        // Longer than the tree is deep: filter the entries parked at the last node
+        Map<String, Completion> matches = new LinkedHashMap<>();
+        for (Keyed keyed : node.terminal) {
+            if (keyed.key.startsWith(key)) {
+                matches.putIfAbsent(keyed.completion.getId(), keyed.completion);
+            }
+        }
+        return matches.values().stream().sorted(RANK).limit(limit).toList();
+    }
+
+    private void removeLocked(String id) {
+        Completion old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String key : keys(old.getText())) {
+            delete(key, old);
+        }
+    }
+
+    private void insert(String key, Completion completion) {
+        Node[] path = new Node[Math.min(key.length(), maxDepth) + 1];
+        path[0] = root;
+        for (int i = 1; i < path.length; i++) {
+            path[i] = path[i - 1].childOrCreate(key.charAt(i - 1));
+        }
+        Node end = path[path.length - 1];
+        Keyed[] terminal = Arrays.copyOf(end.terminal, end.terminal.length + 1);
+        terminal[terminal.length - 1] = new Keyed(key, completion);
+        end.terminal = terminal;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].top = topOf(path[i]);
+        }
+    }
+
+    private void delete(String key, Completion completion) {
+        Node[] path = new Node[Math.min(key.length(), maxDepth) + 1];
+        path[0] = root;
+        for (int i = 1; i < path.length; i++) {
+            path[i] = path[i - 1].child(key.charAt(i - 1));
+            if (path[i] == null) {
+                return;
+            }
+        }
+        Node end = path[path.length - 1];
+        end.terminal = Arrays.stream(end.terminal)
+                .filter(t -> !(t.completion == completion && t.key.equals(key)))
+                .toArray(Keyed[]::new);
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node node = path[i];
+            if (i > 0 && node.terminal.length == 0 && node.isLeaf()) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            } else {
+                node.top = topOf(node);
+            }
+        }
+    }
+
+    // Own entries plus the children's cached tops, deduplicated by id
+    private Completion[] topOf(Node node) {
+        Map<String, Completion> candidates = new HashMap<>();
+        for (Keyed keyed : node.terminal) {
+            candidates.putIfAbsent(keyed.completion.getId(), keyed.completion);
+        }
+        for (Node child : node.children()) {
+            for (Completion c : child.top) {
+                candidates.putIfAbsent(c.getId(), c);
+            }
+        }
+        return candidates.values().stream().sorted(RANK).limit(k).toArray(Completion[]::new);
+    }
+
+    // Full normalized text plus a suffix starting at each significant word
+    static List<String> keys(String text) {
+        String normalized = BookSearchIndex.normalize(text);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        int start = normalized.indexOf(' ') + 1;
+        while (start > 0 && keys.size() <= MAX_WORD_KEYS) {
+            int end = normalized.indexOf(' ', start);
+            String word = end < 0 ? normalized.substring(start) : normalized.substring(start, end);
+            if (word.length() > 1 && !STOPWORDS.contains(word)) {
+                keys.add(normalized.substring(start));
+            }
+            start = end + 1;
+        }
+        return keys;
+    }
+
+    static final class Completion {
+
+        private final String id;
+        private final String text;
+        private final long weight;
+
+        Completion(String id, String text, long weight) {
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        long getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class Keyed {
+
+        final String key;
+        final Completion completion;
+
+        Keyed(String key, Completion completion) {
+            this.key = key;
+            this.completion = completion;
+        }
+    }
+
+    // Sorted child labels with their nodes, replaced as one object so readers always see a matching pair
+    private static final class Edges {
+
+        static final Edges NONE = new Edges(new char[0], new Node[0]);
+
+        final char[] labels;
+        final Node[] nodes;
+
+        Edges(char[] labels, Node[] nodes) {
+            this.labels = labels;
+            this.nodes = nodes;
+        }
+    }
+
+    private static final class Node {
+
+        private static final Completion[] NO_COMPLETIONS = new Completion[0];
+        private static final Keyed[] NO_ENTRIES = new Keyed[0];
+
+        volatile Edges edges = Edges.NONE;
+        volatile Completion[] top = NO_COMPLETIONS;
+        volatile Keyed[] terminal = NO_ENTRIES;
+
+        Node child(char c) {
+            Edges e = edges;
+            int i = Arrays.binarySearch(e.labels, c);
+            return i >= 0 ? e.nodes[i] : null;
+        }
+
+        boolean isLeaf() {
+            return edges.labels.length == 0;
+        }
+
+        Node[] children() {
+            return edges.nodes;
+        }
+
+        Node childOrCreate(char c) {
+            Edges e = edges;
+            int i = Arrays.binarySearch(e.labels, c);
+            if (i >= 0) {
+                return e.nodes[i];
+            }
+            int at = -i - 1;
+            Node created = new Node();
+            char[] labels = new char[e.labels.length + 1];
+            Node[] nodes = new Node[e.nodes.length + 1];
+            System.arraycopy(e.labels, 0, labels, 0, at);
+            System.arraycopy(e.nodes, 0, nodes, 0, at);
+            labels[at] = c;
+            nodes[at] = created;
+            System.arraycopy(e.labels, at, labels, at + 1, e.labels.length - at);
+            System.arraycopy(e.nodes, at, nodes, at + 1, e.nodes.length - at);
+            edges = new Edges(labels, nodes);
+            return created;
+        }
+
+        void removeChild(char c) {
+            Edges e = edges;
+            int i = Arrays.binarySearch(e.labels, c);
+            if (i < 0) {
+                return;
+            }
+            char[] labels = new char[e.labels.length - 1];
+            Node[] nodes = new Node[e.nodes.length - 1];
+            System.arraycopy(e.labels, 0, labels, 0, i);
+            System.arraycopy(e.nodes, 0, nodes, 0, i);
+            System.arraycopy(e.labels, i + 1, labels, i, e.labels.length - i - 1);
+            System.arraycopy(e.nodes, i + 1, nodes, i, e.nodes.length - i - 1);
+            edges = new Edges(labels, nodes);
+        }
+    }
+}
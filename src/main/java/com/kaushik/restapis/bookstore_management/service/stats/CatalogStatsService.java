@@ -0,0 +1,250 @@
+package com.kaushik.restapis.bookstore_management.service.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.SessionSynchronization;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kaushik.restapis.bookstore_management.dto.CatalogStatsDTO;
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.Category;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Materialized catalog statistics: one {@code catalog_stats} document with
+ * book count, stock units and inventory value (price x stock) overall and per
+ * category and author. Each book change is applied as a single $inc of the
+ * differences, so the dashboard read is one document lookup however large
+ * the catalog is.
+ *
+ * Writes that bypass the change events (seeding, edits made directly in
+ * Mongo), and deltas that land while a recount is running, make the document
+ * drift. A scheduled full recount replaces it and logs how far off it was.
+ */
+@Service
+public class CatalogStatsService {
+
+    static final String COLLECTION = "catalog_stats";
+    static final String DOCUMENT_ID = "catalog";
+
+    @Autowired
+    private MongoTemplate template;
+
+    // Outside any transaction: every book write hits this one document
+    private MongoTemplate mongoTemplate;
+
+    private final ReentrantLock recomputeLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        mongoTemplate = new MongoTemplate(template.getMongoDatabaseFactory(), template.getConverter());
+        mongoTemplate.setSessionSynchronization(SessionSynchronization.NEVER);
+    }
+
+    // After commit when the change ran in a transaction, immediately otherwise
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        apply(List.of(event));
+    }
+
+    // Deltas of the whole batch summed into one $inc
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        apply(event.getChanges());
+    }
+
+    private void apply(List<BookChangedEvent> changes) {
+        Map<String, Object> deltas = new HashMap<>();
+        for (BookChangedEvent change : changes) {
+            collect(deltas, change.getBefore(), -1);
+            collect(deltas, change.getAfter(), 1);
+        }
+        Update update = new Update();
+        for (Map.Entry<String, Object> delta : deltas.entrySet()) {
+            Object value = delta.getValue();
+            if (value instanceof BigDecimal amount) {
+                if (amount.signum() != 0) {
+                    update.inc(delta.getKey(), new Decimal128(amount));
+                }
+            } else if (((Long) value) != 0) {
+                update.inc(delta.getKey(), (Long) value);
+            }
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return;
+        }
+        update.set("updatedAt", new Date());
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(DOCUMENT_ID)), update, COLLECTION);
+    }
+
+    public CatalogStatsDTO getStats() {
+        Document stats = mongoTemplate.findById(DOCUMENT_ID, Document.class, COLLECTION);
+        if (stats == null || stats.get("recomputedAt") == null) {
+            recompute();
+            stats = mongoTemplate.findById(DOCUMENT_ID, Document.class, COLLECTION);
+        }
+        CatalogStatsDTO dto = new CatalogStatsDTO();
+        dto.setTotalBooks(longValue(stats.get("books")));
+        dto.setTotalStockUnits(longValue(stats.get("stockUnits")));
+        dto.setInventoryValue(decimalValue(stats.get("inventoryValue")));
+        Object recomputedAt = stats.get("recomputedAt");
+        if (recomputedAt instanceof Date date) {
+            dto.setRecomputedAt(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()));
+        }
+        dto.setCategories(groups(stats.get("categories", Document.class), Category.class));
+        dto.setAuthors(groups(stats.get("authors", Document.class), Author.class));
+        return dto;
+    }
+
+    // Full recount from the books collection; replaces the incrementally kept document
+    @Scheduled(initialDelayString = "${bookstore.stats.initial-delay-ms:15000}",
+            fixedDelayString = "${bookstore.stats.recompute-interval-ms:3600000}")
+    public void recompute() {
+        // A lock rather than synchronized: the aggregation would pin a virtual thread's carrier
+        recomputeLock.lock();
+        try {
+            TypedAggregation<Book> aggregation = Aggregation.newAggregation(Book.class,
+                    Aggregation.facet(sums(Aggregation.group())).as("totals")
+                            .and(sums(Aggregation.group("categoryRef.id"))).as("categories")
+                            .and(sums(Aggregation.group("authorRef.id"))).as("authors"));
+            Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+
+            Document stats = new Document("_id", DOCUMENT_ID);
+            List<Document> totals = result.getList("totals", Document.class);
+            Document total = totals.isEmpty() ? new Document() : totals.get(0);
+            stats.put("books", longValue(total.get("books")));
+            stats.put("stockUnits", longValue(total.get("stockUnits")));
+            stats.put("inventoryValue", new Decimal128(decimalValue(total.get("inventoryValue"))));
+            stats.put("categories", groupDocument(result.getList("categories", Document.class)));
+            stats.put("authors", groupDocument(result.getList("authors", Document.class)));
+            Date now = new Date();
+            stats.put("recomputedAt", now);
+            stats.put("updatedAt", now);
+
+            Document previous = mongoTemplate.findById(DOCUMENT_ID, Document.class, COLLECTION);
+            mongoTemplate.save(stats, COLLECTION);
+            if (previous != null) {
+                System.out.println("CatalogStatsService: recomputed, drift corrected: books "
+                        + (longValue(stats.get("books")) - longValue(previous.get("books")))
+                        + ", units " + (longValue(stats.get("stockUnits")) - longValue(previous.get("stockUnits")))
+                        + ", value " + decimalValue(stats.get("inventoryValue")).subtract(decimalValue(previous.get("inventoryValue"))));
+            }
+        } finally {
+            recomputeLock.unlock();
+        }
+    }
+
+    // Adds sign x (1 book, its stock, its value) to the overall and per-group totals
+    private static void collect(Map<String, Object> deltas, Book book, int sign) {
+        if (book == null) {
+            return;
+        }
+        long stock = book.getStockQuantity() != null ? book.getStockQuantity() : 0;
+        BigDecimal value = book.getPrice() != null ? book.getPrice().multiply(BigDecimal.valueOf(stock)) : BigDecimal.ZERO;
+        add(deltas, "", sign, stock, value);
+        EntityRef category = book.getCategoryRef();
+        if (category != null && category.getId() != null) {
+            add(deltas, "categories." + category.getId() + ".", sign, stock, value);
+        }
+        EntityRef author = book.getAuthorRef();
+        if (author != null && author.getId() != null) {
+            add(deltas, "authors." + author.getId() + ".", sign, stock, value);
+        }
+    }
+
+    private static void add(Map<String, Object> deltas, String prefix, int sign, long stock, BigDecimal value) {
+        deltas.merge(prefix + "books", (long) sign, (a, b) -> (Long) a + (Long) b);
+        deltas.merge(prefix + "stockUnits", sign * stock, (a, b) -> (Long) a + (Long) b);
+        deltas.merge(prefix + "inventoryValue", sign > 0 ? value : value.negate(),
+                (a, b) -> ((BigDecimal) a).add((BigDecimal) b));
+    }
+
+    private static GroupOperation sums(GroupOperation group) {
+        return group.count().as("books")
+                .sum("stockQuantity").as("stockUnits")
+                .sum(ArithmeticOperators.Multiply.valueOf("price").multiplyBy("stockQuantity")).as("inventoryValue");
+    }
+
+    // Aggregation rows keyed by group id, in the same shape the deltas update
+    private static Document groupDocument(List<Document> rows) {
+        Document groups = new Document();
+        for (Document row : rows) {
+            if (row.get("_id") == null) {
+                continue;
+            }
+            groups.put(row.get("_id").toString(), new Document("books", longValue(row.get("books")))
+                    .append("stockUnits", longValue(row.get("stockUnits")))
+                    .append("inventoryValue", new Decimal128(decimalValue(row.get("inventoryValue")))));
+        }
+        return groups;
+    }
+
+    // Non-empty groups, largest inventory value first, with names looked up in one query
+    private List<CatalogStatsDTO.GroupStats> groups(Document groups, Class<?> entityType) {
+        if (groups == null) {
+            return new ArrayList<>();
+        }
+        // Raw query on the entity's collection, so the ids are converted here rather than by the mapper
+        List<Object> ids = groups.keySet().stream()
+                .map(id -> ObjectId.isValid(id) ? (Object) new ObjectId(id) : id)
+                .toList();
+        Query names = Query.query(Criteria.where("_id").in(ids));
+        names.fields().include("name");
+        Map<String, String> nameById = new HashMap<>();
+        for (Document named : mongoTemplate.find(names, Document.class, mongoTemplate.getCollectionName(entityType))) {
+            nameById.put(named.get("_id").toString(), named.getString("name"));
+        }
+        return groups.entrySet().stream()
+                .map(entry -> {
+                    Document group = (Document) entry.getValue();
+                    return new CatalogStatsDTO.GroupStats(entry.getKey(), nameById.get(entry.getKey()),
+                            longValue(group.get("books")), longValue(group.get("stockUnits")),
+                            decimalValue(group.get("inventoryValue")));
+                })
+                .filter(group -> group.getBooks() > 0)
+                .sorted(Comparator.comparing(CatalogStatsDTO.GroupStats::getInventoryValue).reversed())
+                .toList();
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static BigDecimal decimalValue(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value instanceof Number number ? new BigDecimal(number.toString()) : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,135 @@
+package com.kaushik.restapis.bookstore_management.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Payload size (raw and gzipped) and serialize/deserialize time of a BookDTO
+ * list in each response format the API offers. Mappers are configured like
+ * the application's (dates as ISO strings). Prints a table and checks that
+ * every format round-trips. Catalog size and rounds can be raised with
+ * -Dbenchmark.books=50000 -Dbenchmark.rounds=20.
+ */
+class BookDTOFormatBenchmarkTest {
+
+	private static final TypeReference<List<BookDTO>> BOOK_LIST = new TypeReference<>() {
+	};
+
+	@Test
+	void compareFormats() throws IOException {
+		int books = Integer.getInteger("benchmark.books", 5000);
+		int rounds = Integer.getInteger("benchmark.rounds", 5);
+		List<BookDTO> catalog = catalog(books);
+
+		Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+		formats.put("json", configure(Jackson2ObjectMapperBuilder.json()));
+		formats.put("cbor", configure(Jackson2ObjectMapperBuilder.cbor()));
+		formats.put("smile", configure(Jackson2ObjectMapperBuilder.smile()));
+
+		System.out.printf("%d books, best of %d rounds%n", books, rounds);
+		System.out.printf("%-6s %12s %12s %14s %14s%n", "format", "bytes", "gzip bytes", "write us/book", "read us/book");
+		long jsonBytes = 0;
+		for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+			ObjectMapper mapper = format.getValue();
+			byte[] payload = mapper.writeValueAsBytes(catalog);
+			List<BookDTO> read = mapper.readValue(payload, BOOK_LIST);
+			assertRoundTrip(catalog, read, format.getKey());
+
+			long write = Long.MAX_VALUE;
+			long parse = Long.MAX_VALUE;
+			for (int i = 0; i < rounds; i++) {
+				long start = System.nanoTime();
+				mapper.writeValueAsBytes(catalog);
+				write = Math.min(write, System.nanoTime() - start);
+				start = System.nanoTime();
+				mapper.readValue(payload, BOOK_LIST);
+				parse = Math.min(parse, System.nanoTime() - start);
+			}
+			if (format.getKey().equals("json")) {
+				jsonBytes = payload.length;
+			} else {
+				assertTrue(payload.length < jsonBytes, format.getKey() + " should be smaller than json");
+			}
+			System.out.printf("%-6s %12d %12d %14.2f %14.2f%n", format.getKey(), payload.length, gzip(payload).length,
+					write / 1000.0 / books, parse / 1000.0 / books);
+		}
+	}
+
+	private static ObjectMapper configure(Jackson2ObjectMapperBuilder builder) {
+		return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+	}
+
+	private static void assertRoundTrip(List<BookDTO> expected, List<BookDTO> actual, String format) {
+		assertEquals(expected.size(), actual.size(), format);
+		for (int i = 0; i < expected.size(); i += Math.max(1, expected.size() / 50)) {
+			BookDTO a = expected.get(i);
+			BookDTO b = actual.get(i);
+			assertEquals(a.getId(), b.getId(), format);
+			assertEquals(a.getTitle(), b.getTitle(), format);
+			assertEquals(a.getDescription(), b.getDescription(), format);
+			assertEquals(0, a.getPrice().compareTo(b.getPrice()), format);
+			assertEquals(a.getStockQuantity(), b.getStockQuantity(), format);
+			assertEquals(a.getUpdatedAt(), b.getUpdatedAt(), format);
+			assertEquals(a.getAuthorName(), b.getAuthorName(), format);
+		}
+	}
+
+	private static byte[] gzip(byte[] payload) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(payload);
+		}
+		return out.toByteArray();
+	}
+
+	// Catalog shaped like the seeded one: a few hundred authors and categories, descriptions of a few sentences
+	private static List<BookDTO> catalog(int size) {
+		Random random = new Random(42);
+		String[] words = ("algorithm data structure system design pattern network compiler database theory "
+				+ "practice modern classic guide introduction advanced concurrent distributed programming language")
+				.split(" ");
+		String[] languages = { "English", "English", "English", "German", "French", "Spanish" };
+		LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+		List<BookDTO> books = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			StringBuilder title = new StringBuilder();
+			for (int w = 0; w < 2 + random.nextInt(5); w++) {
+				title.append(w > 0 ? " " : "").append(words[random.nextInt(words.length)]);
+			}
+			StringBuilder description = new StringBuilder();
+			for (int w = 0; w < 20 + random.nextInt(60); w++) {
+				description.append(w > 0 ? " " : "").append(words[random.nextInt(words.length)]);
+			}
+			int author = random.nextInt(300);
+			int category = random.nextInt(40);
+			BookDTO book = new BookDTO(String.format("%024x", 0x6ad5_0000_0000L + i), title.toString(),
+					"978-" + (1_000_000_000L + i), description.toString(),
+					BigDecimal.valueOf(499 + random.nextInt(15000), 2), 1960 + random.nextInt(65),
+					random.nextInt(200), 80 + random.nextInt(900), languages[random.nextInt(languages.length)],
+					base.plusMinutes(i), base.plusMinutes(i).plusDays(random.nextInt(300)),
+					"Author " + author, String.format("%024x", 0x6ad4_0000_0000L + author),
+					"Category " + category, String.format("%024x", 0x6ad3_0000_0000L + category));
+			book.setVersion((long) random.nextInt(10));
+			books.add(book);
+		}
+		return books;
+	}
+}
@@ -0,0 +1,135 @@
+package com.kaushik.restapis.bookstore_management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.kaushik.restapis.bookstore_management.repository.projection.BookEmbedding;
+import com.kaushik.restapis.bookstore_management.repository.projection.BookSummary;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Runs every filtering BookRepository finder, captures the find command it
+ * sends and asks the server to explain it. A COLLSCAN anywhere in the winning
+ * plan means a finder is missing its index on Book. Skipped when the server
+ * does not support explain (e.g. an in-memory test server).
+ */
+@SpringBootTest
+class BookRepositoryIndexTest {
+
+	static final List<BsonDocument> FIND_COMMANDS = Collections.synchronizedList(new ArrayList<>());
+
+	@TestConfiguration
+	static class CaptureCommands {
+
+		@Bean
+		MongoClientSettingsBuilderCustomizer captureFindCommands() {
+			return settings -> settings.addCommandListener(new CommandListener() {
+				@Override
+				public void commandStarted(CommandStartedEvent event) {
+					if ("find".equals(event.getCommandName())
+							&& "books".equals(event.getCommand().getString("find").getValue())) {
+						FIND_COMMANDS.add(event.getCommand().clone());
+					}
+				}
+			});
+		}
+	}
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	private final String id = new ObjectId().toHexString();
+
+	@BeforeEach
+	void requireExplain() {
+		FIND_COMMANDS.clear();
+		boolean supported;
+		try {
+			supported = explain(new Document("find", "books")).containsKey("queryPlanner");
+		} catch (RuntimeException ex) {
+			supported = false;
+		}
+		Assumptions.assumeTrue(supported, "server does not support explain");
+	}
+
+	@Test
+	void derivedFindersUseIndexes() {
+		assertIndexed("findByIsbn", () -> bookRepository.findByIsbn("978-0-0000"));
+		assertIndexed("findByTitleContainingIgnoreCase", () -> bookRepository.findByTitleContainingIgnoreCase("art"));
+		assertIndexed("findByAuthorId", () -> bookRepository.findByAuthorId(id, BookSummary.class));
+		assertIndexed("findByAuthorId(page)", () -> bookRepository.findByAuthorId(id,
+				PageRequest.of(0, 10, Sort.by("id")), BookSummary.class));
+		assertIndexed("findByCategoryId", () -> bookRepository.findByCategoryId(id, BookSummary.class));
+		assertIndexed("findByPriceBetween", () -> bookRepository.findByPriceBetween(
+				new BigDecimal("10"), new BigDecimal("20"), BookSummary.class));
+		assertIndexed("findByStockQuantityGreaterThan", () -> bookRepository.findByStockQuantityGreaterThan(5));
+		assertIndexed("findByStockQuantityLessThanEqual", () -> bookRepository.findByStockQuantityLessThanEqual(5));
+		assertIndexed("findByPublicationYear", () -> bookRepository.findByPublicationYear(1999));
+		assertIndexed("findWithEmbedding", () -> bookRepository.findWithEmbedding(BookEmbedding.class));
+		assertIndexed("findWithoutEmbedding", () -> bookRepository.findWithoutEmbedding(BookSummary.class));
+		assertIndexed("findByLanguageIgnoreCase", () -> bookRepository.findByLanguageIgnoreCase("english"));
+	}
+
+	@Test
+	void searchShapesUseIndexes() {
+		PageRequest byId = PageRequest.of(0, 10, Sort.by("id"));
+		PageRequest byPrice = PageRequest.of(0, 10, Sort.by("price"));
+		assertIndexed("search title", () -> bookRepository.searchBooks("art", null, null, null, null, byId, BookSummary.class));
+		assertIndexed("search author", () -> bookRepository.searchBooks(null, id, null, null, null, byId, BookSummary.class));
+		assertIndexed("search category", () -> bookRepository.searchBooks(null, null, id, null, null, byId, BookSummary.class));
+		assertIndexed("search price", () -> bookRepository.searchBooks(null, null, null,
+				BigDecimal.ONE, BigDecimal.TEN, byPrice, BookSummary.class));
+		assertIndexed("search author+price", () -> bookRepository.searchBooks(null, id, null,
+				BigDecimal.ONE, null, byPrice, BookSummary.class));
+		assertIndexed("search category+price", () -> bookRepository.searchBooks(null, null, id,
+				null, BigDecimal.TEN, byPrice, BookSummary.class));
+		assertIndexed("search author+title", () -> bookRepository.searchBooks("art", id, null, null, null, byId, BookSummary.class));
+	}
+
+	private void assertIndexed(String finder, Runnable call) {
+		FIND_COMMANDS.clear();
+		call.run();
+		assertFalse(FIND_COMMANDS.isEmpty(), finder + " sent no find command");
+		BsonDocument command = FIND_COMMANDS.get(FIND_COMMANDS.size() - 1);
+
+		// Explain accepts the find command minus the driver's session/cluster fields
+		Document find = new Document();
+		for (String key : command.keySet()) {
+			if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")) {
+				find.put(key, command.get(key));
+			}
+		}
+		Document plan = explain(find).get("queryPlanner", Document.class);
+		assertNotNull(plan, finder + ": no query plan");
+		assertFalse(plan.get("winningPlan", Document.class).toJson().contains("\"COLLSCAN\""),
+				finder + " does a COLLSCAN: " + command.toJson());
+	}
+
+	private Document explain(Document find) {
+		return mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+	}
+}
@@ -0,0 +1,87 @@
+package com.kaushik.restapis.bookstore_management.service.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rebuild skeleton: changes that arrive during a load are replayed onto the
+ * new build, nested rebuilds are skipped, and a failed load lets the next
+ * rebuild run.
+ */
+class RebuildableIndexTest {
+
+	@Test
+	void replaysChangesSeenDuringLoad() {
+		ListIndex index = new ListIndex();
+		index.source = () -> {
+			index.change("late");
+			return new ArrayList<>(List.of("a", "b"));
+		};
+		assertTrue(index.rebuild());
+		assertEquals(List.of("a", "b", "late"), index.live);
+	}
+
+	@Test
+	void skipsRebuildWhileOneIsRunning() {
+		ListIndex index = new ListIndex();
+		List<Boolean> nested = new ArrayList<>();
+		index.source = () -> {
+			nested.add(index.rebuild());
+			return new ArrayList<>();
+		};
+		assertTrue(index.rebuild());
+		assertEquals(List.of(false), nested);
+	}
+
+	@Test
+	void failedLoadDoesNotBlockTheNextRebuild() {
+		ListIndex index = new ListIndex();
+		index.source = () -> {
+			throw new IllegalStateException("connection lost");
+		};
+		assertFalse(index.rebuild());
+		index.change("kept");
+		assertEquals(List.of("kept"), index.live);
+
+		index.source = () -> new ArrayList<>(List.of("a"));
+		assertTrue(index.rebuild());
+		assertEquals(List.of("a"), index.live);
+	}
+
+	private static class ListIndex extends RebuildableIndex<List<String>, String> {
+
+		Supplier<List<String>> source;
+		List<String> live = new ArrayList<>();
+
+		boolean rebuild() {
+			return reload();
+		}
+
+		void change(String value) {
+			update(value);
+		}
+
+		@Override
+		protected List<String> load() {
+			return source.get();
+		}
+
+		@Override
+		protected void install(List<String> build, List<String> missed) {
+			build.addAll(missed);
+			live = build;
+		}
+
+		@Override
+		protected void apply(String event) {
+			live.add(event);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.kaushik.restapis.bookstore_management.service.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * MinHash signatures: stable across instances, blind to case and punctuation,
+ * and agreeing at roughly the Jaccard similarity of the shingle sets.
+ */
+class MinHasherTest {
+
+	@Test
+	void sameTextGivesSameSignatureOnEveryInstance() {
+		String text = "The Art of Computer Programming, Volume 1: Fundamental Algorithms";
+		assertArrayEquals(new MinHasher(64, 5).signature(text), new MinHasher(64, 5).signature(text));
+	}
+
+	@Test
+	void caseAndPunctuationDoNotCount() {
+		MinHasher hasher = new MinHasher(64, 5);
+		int[] a = hasher.signature("Clean Code: A Handbook of Agile Software Craftsmanship");
+		int[] b = hasher.signature("clean code -- a handbook of agile   software craftsmanship!");
+		assertEquals(1.0, MinHasher.similarity(a, b));
+	}
+
+	@Test
+	void estimateIsCloseToJaccardSimilarity() {
+		String a = "Operating systems design and implementation with a running example kernel";
+		String b = "Operating systems design and implementation with a small teaching kernel";
+		MinHasher hasher = new MinHasher(512, 5);
+		double estimate = MinHasher.similarity(hasher.signature(a), hasher.signature(b));
+		double exact = jaccard(shingles(a, 5), shingles(b, 5));
+		assertTrue(Math.abs(estimate - exact) < 0.1, "estimate " + estimate + " vs exact " + exact);
+	}
+
+	@Test
+	void unrelatedTextsScoreLow() {
+		MinHasher hasher = new MinHasher(128, 5);
+		double similarity = MinHasher.similarity(hasher.signature("Introduction to the theory of computation"),
+				hasher.signature("A field guide to the birds of western Europe"));
+		assertTrue(similarity < 0.2, "similarity " + similarity);
+	}
+
+	@Test
+	void textShorterThanAShingleIsOneShingle() {
+		MinHasher hasher = new MinHasher(16, 5);
+		assertEquals(1.0, MinHasher.similarity(hasher.signature("C++"), hasher.signature("c")));
+	}
+
+	@Test
+	void textWithoutLettersHasNoSignature() {
+		MinHasher hasher = new MinHasher(16, 5);
+		assertNull(hasher.signature(null));
+		assertNull(hasher.signature(" -- !! "));
+	}
+
+	@Test
+	void missingOrMismatchedSignaturesAreNotSimilar() {
+		assertEquals(0.0, MinHasher.similarity(null, new int[] {1}));
+		assertEquals(0.0, MinHasher.similarity(new int[] {1, 2}, new int[] {1}));
+	}
+
+	@Test
+	void rejectsNonPositiveSizes() {
+		assertThrows(IllegalArgumentException.class, () -> new MinHasher(0, 5));
+		assertThrows(IllegalArgumentException.class, () -> new MinHasher(16, 0));
+	}
+
+	private static Set<String> shingles(String text, int size) {
+		String normalized = MinHasher.normalize(text);
+		Set<String> result = new HashSet<>();
+		for (int i = 0; i + size <= normalized.length(); i++) {
+			result.add(normalized.substring(i, i + size));
+		}
+		return result;
+	}
+
+	private static double jaccard(Set<String> a, Set<String> b) {
+		Set<String> union = new HashSet<>(a);
+		union.addAll(b);
+		Set<String> common = new HashSet<>(a);
+		common.retainAll(b);
+		return (double) common.size() / union.size();
+	}
+}
@@ -0,0 +1,74 @@
+package com.kaushik.restapis.bookstore_management.service.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RFC 4180 quoting: quoted commas, doubled quotes, records spanning lines,
+ * CRLF endings and an unterminated quote at end of input.
+ */
+class CsvRecordReaderTest {
+
+	@Test
+	void splitsPlainFieldsKeepingEmptyOnes() throws IOException {
+		assertEquals(List.of(List.of("a", "", "c", "")), read("a,,c,\n"));
+	}
+
+	@Test
+	void lastRecordNeedsNoLineBreak() throws IOException {
+		assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), read("a,b\nc,d"));
+	}
+
+	@Test
+	void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+		assertEquals(List.of(List.of("Clean Code, 2nd ed.", "He said \"hi\"", "")),
+				read("\"Clean Code, 2nd ed.\",\"He said \"\"hi\"\"\",\"\"\n"));
+	}
+
+	@Test
+	void quotedFieldSpansLinesInOneRecord() throws IOException {
+		assertEquals(List.of(List.of("title", "line one\r\nline two"), List.of("next", "row")),
+				read("title,\"line one\r\nline two\"\r\nnext,row\r\n"));
+	}
+
+	@Test
+	void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+		assertEquals(List.of(List.of("5\" floppy", "x")), read("5\" floppy,x\n"));
+	}
+
+	@Test
+	void blankLineIsOneEmptyField() throws IOException {
+		assertEquals(List.of(List.of("a"), List.of(""), List.of("b")), read("a\n\nb\n"));
+	}
+
+	@Test
+	void unterminatedQuoteFailsTheRecord() throws IOException {
+		CsvRecordReader reader = new CsvRecordReader(new StringReader("ok,row\n\"open,never closed\nmore\n"));
+		assertEquals(List.of("ok", "row"), reader.next());
+		assertThrows(CsvRecordReader.MalformedCsvException.class, reader::next);
+	}
+
+	@Test
+	void emptyInputHasNoRecords() throws IOException {
+		assertNull(new CsvRecordReader(new StringReader("")).next());
+	}
+
+	private static List<List<String>> read(String csv) throws IOException {
+		List<List<String>> records = new ArrayList<>();
+		try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+			List<String> record;
+			while ((record = reader.next()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+}
@@ -0,0 +1,123 @@
+package com.kaushik.restapis.bookstore_management.service.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Striped stock counter: takes span stripes, failed takes put back what
+ * they got, and concurrent takes never hand out more units than exist.
+ */
+class StripedStockTest {
+
+	private static final int THREADS = 16;
+
+	@Test
+	void splitsInitialStockAcrossStripes() {
+		assertEquals(10, new StripedStock(4, 10).total());
+		assertEquals(0, new StripedStock(4, -3).total());
+	}
+
+	@Test
+	void takeCollectsFromEveryStripe() {
+		StripedStock stock = new StripedStock(8, 8);
+		assertEquals(8, stock.take(8));
+		assertEquals(0, stock.total());
+	}
+
+	@Test
+	void takeReturnsWhatItCouldGet() {
+		StripedStock stock = new StripedStock(4, 5);
+		assertEquals(5, stock.take(7));
+		assertEquals(0, stock.take(1));
+	}
+
+	@Test
+	void failedTryTakePutsUnitsBack() {
+		StripedStock stock = new StripedStock(4, 5);
+		assertFalse(stock.tryTake(6));
+		assertEquals(5, stock.total());
+		assertTrue(stock.tryTake(5));
+		assertEquals(0, stock.total());
+	}
+
+	@Test
+	void addedUnitsCanBeTaken() {
+		StripedStock stock = new StripedStock(4, 0);
+		stock.add(3);
+		stock.add(-2);
+		assertTrue(stock.tryTake(3));
+		assertFalse(stock.tryTake(1));
+	}
+
+	@Test
+	void concurrentTakesNeverOversell() throws Exception {
+		long initial = 10_000;
+		StripedStock stock = new StripedStock(8, initial);
+		List<Long> sold = run(() -> {
+			long units = 0;
+			while (stock.tryTake(3)) {
+				units += 3;
+			}
+			while (stock.tryTake(1)) {
+				units++;
+			}
+			return units;
+		});
+		assertEquals(initial, sold.stream().mapToLong(Long::longValue).sum());
+		assertEquals(0, stock.total());
+	}
+
+	@Test
+	void concurrentTakesAndReturnsBalance() throws Exception {
+		StripedStock stock = new StripedStock(8, 1_000);
+		List<Long> kept = run(() -> {
+			long units = 0;
+			for (int i = 0; i < 20_000; i++) {
+				if (stock.tryTake(2)) {
+					units += 2;
+				}
+				if (units > 0 && i % 2 == 0) {
+					stock.add(1);
+					units--;
+				}
+			}
+			return units;
+		});
+		assertEquals(1_000, stock.total() + kept.stream().mapToLong(Long::longValue).sum());
+	}
+
+	// Runs the task on THREADS threads released together and returns each result
+	private static List<Long> run(Callable<Long> task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Long>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+			List<Long> results = new ArrayList<>();
+			for (Future<Long> future : futures) {
+				results.add(future.get(30, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
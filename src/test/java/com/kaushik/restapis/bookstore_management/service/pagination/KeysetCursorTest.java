@@ -0,0 +1,100 @@
+package com.kaushik.restapis.bookstore_management.service.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cursor tokens round-trip the sort value with its type, and the "after"
+ * criteria place null sort values first, as MongoDB sorts them.
+ */
+class KeysetCursorTest {
+
+	private static final String ID = "6ad5b4d5b7aca32c3425263a";
+
+	@Test
+	void roundTripsEveryValueType() {
+		assertRoundTrip(new BigDecimal("12.50"));
+		assertRoundTrip(1968);
+		assertRoundTrip(5_000_000_000L);
+		assertRoundTrip(LocalDateTime.of(2024, 3, 1, 12, 30, 15));
+		assertRoundTrip("Clean Code");
+		assertRoundTrip(null);
+	}
+
+	@Test
+	void keepsSortKeyDirectionAndId() {
+		KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor("price", true, null, ID).encode());
+		assertEquals("price", decoded.getSortBy());
+		assertTrue(decoded.isDescending());
+		assertEquals(ID, decoded.getLastId());
+		assertFalse(KeysetCursor.decode(new KeysetCursor("title", false, "x", ID).encode()).isDescending());
+	}
+
+	@Test
+	void tokenIsUrlSafe() {
+		String token = new KeysetCursor("title", false, "?&/+= é", ID).encode();
+		assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("e30"));
+	}
+
+	@Test
+	void ascendingFromNullContinuesWithLaterNullsThenAllValues() {
+		Document after = KeysetPaginator.after("publicationYear", false, null, ID).getCriteriaObject();
+		assertEquals(new Document("$or", List.of(
+				new Document("$and", List.of(new Document("publicationYear", null),
+						new Document("id", new Document("$gt", new ObjectId(ID))))),
+				new Document("publicationYear", new Document("$ne", null)))), after);
+	}
+
+	@Test
+	void ascendingFromValueNeverReturnsToNulls() {
+		Document after = KeysetPaginator.after("publicationYear", false, 1990, ID).getCriteriaObject();
+		assertEquals(new Document("$or", List.of(
+				new Document("publicationYear", new Document("$gt", 1990)),
+				new Document("$and", List.of(new Document("publicationYear", 1990),
+						new Document("id", new Document("$gt", new ObjectId(ID))))))), after);
+	}
+
+	@Test
+	void descendingFromValueEndsWithTheNulls() {
+		Document after = KeysetPaginator.after("publicationYear", true, 1990, ID).getCriteriaObject();
+		assertEquals(new Document("$or", List.of(
+				new Document("publicationYear", new Document("$lt", 1990)),
+				new Document("$and", List.of(new Document("publicationYear", 1990),
+						new Document("id", new Document("$lt", new ObjectId(ID))))),
+				new Document("publicationYear", null))), after);
+	}
+
+	@Test
+	void descendingFromNullOnlyHasEarlierNullsLeft() {
+		Document after = KeysetPaginator.after("publicationYear", true, null, ID).getCriteriaObject();
+		assertEquals(new Document("$and", List.of(new Document("publicationYear", null),
+				new Document("id", new Document("$lt", new ObjectId(ID))))), after);
+	}
+
+	private static void assertRoundTrip(Object value) {
+		KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor("sortKey", false, value, ID).encode());
+		if (value == null) {
+			assertNull(decoded.getLastValue());
+		} else {
+			assertEquals(value, decoded.getLastValue());
+			assertEquals(value.getClass(), decoded.getLastValue().getClass());
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.kaushik.restapis.bookstore_management.service.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BooksChangedEvent;
+
+/**
+ * Range counts over the sorted price array: inclusive bounds rounded to whole
+ * cents inward, open ends, and batches of changes merged in one pass.
+ */
+class PriceRangeIndexTest {
+
+	private PriceRangeIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PriceRangeIndex();
+		List<BookChangedEvent> created = new ArrayList<>();
+		String[] prices = {"5.00", "9.99", "10.00", "10.00", "12.50", "20.00"};
+		for (int i = 0; i < prices.length; i++) {
+			created.add(BookChangedEvent.created(book("b" + i, prices[i])));
+		}
+		index.onBooksChanged(new BooksChangedEvent(created));
+	}
+
+	@Test
+	void boundsAreInclusive() {
+		assertEquals(3, index.count(price("10.00"), price("12.50")));
+		assertEquals(2, index.count(price("10.00"), price("10.00")));
+	}
+
+	@Test
+	void openEndedBounds() {
+		assertEquals(6, index.count(null, null));
+		assertEquals(4, index.count(null, price("10.00")));
+		assertEquals(4, index.count(price("10.00"), null));
+	}
+
+	@Test
+	void fractionalCentBoundsRoundInward() {
+		assertEquals(1, index.count(price("10.001"), price("12.509")));
+		assertEquals(2, index.count(price("9.991"), price("10.009")));
+	}
+
+	@Test
+	void emptyAndInvertedRanges() {
+		assertEquals(0, index.count(price("10.01"), price("12.49")));
+		assertEquals(0, index.count(price("21.00"), null));
+		assertEquals(0, index.count(price("15.00"), price("6.00")));
+		assertEquals(0, new PriceRangeIndex().count(null, null));
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		index.onBookChanged(BookChangedEvent.updated(book("b1", "9.99"), book("b1", "15.00")));
+		index.onBookChanged(BookChangedEvent.deleted(book("b5", "20.00")));
+		assertEquals(5, index.count(null, null));
+		assertEquals(2, index.count(price("12.00"), price("20.00")));
+		assertEquals(1, index.count(null, price("9.99")));
+	}
+
+	@Test
+	void batchNetsRepeatedChangesToOneBook() {
+		index.onBooksChanged(new BooksChangedEvent(List.of(
+				BookChangedEvent.updated(book("b0", "5.00"), book("b0", "6.00")),
+				BookChangedEvent.updated(book("b0", "6.00"), book("b0", "7.00")),
+				BookChangedEvent.created(book("b9", "6.00")))));
+		assertEquals(7, index.count(null, null));
+		assertEquals(0, index.count(price("5.00"), price("5.00")));
+		assertEquals(1, index.count(price("6.00"), price("6.00")));
+		assertEquals(1, index.count(price("7.00"), price("7.00")));
+	}
+
+	@Test
+	void mergeDropsOneOccurrencePerRemovalAndIgnoresUnknownValues() {
+		long[] merged = PriceRangeIndex.merge(new long[] {100, 200, 200, 300}, new long[] {150, 200}, new long[] {50, 200, 400});
+		assertArrayEquals(new long[] {50, 100, 200, 200, 300, 400}, merged);
+	}
+
+	private static Book book(String id, String price) {
+		Book book = new Book();
+		book.setId(id);
+		book.setPrice(price(price));
+		return book;
+	}
+
+	private static BigDecimal price(String value) {
+		return new BigDecimal(value);
+	}
+}
@@ -0,0 +1,109 @@
+package com.kaushik.restapis.bookstore_management.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kaushik.restapis.bookstore_management.entity.Author;
+import com.kaushik.restapis.bookstore_management.entity.Book;
+import com.kaushik.restapis.bookstore_management.entity.EntityRef;
+import com.kaushik.restapis.bookstore_management.event.AuthorChangedEvent;
+import com.kaushik.restapis.bookstore_management.event.BookChangedEvent;
+
+/**
+ * Ranking and matching of the in-memory search index, fed through change
+ * events as it is between rebuilds.
+ */
+class BookSearchIndexTest {
+
+	private BookSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new BookSearchIndex();
+	}
+
+	@Test
+	void exactWordBeatsPrefixBeatsSubstring() {
+		add("1", "Paragraphs and Style", "a1", "Strunk", "Writing");
+		add("2", "Graphics Programming", "a2", "Abrash", "Graphics");
+		add("3", "Graph Theory", "a3", "Bondy", "Mathematics");
+		assertEquals(List.of("3", "2", "1"), index.search("graph", 10));
+	}
+
+	@Test
+	void titleMatchBeatsDescriptionMatch() {
+		Book described = book("1", "Computer Systems", "a1", "Bryant", "Systems");
+		described.setDescription("Covers networks among other things");
+		index.onBookChanged(BookChangedEvent.created(described));
+		add("2", "Networks", "a2", "Tanenbaum", "Systems");
+		assertEquals(List.of("2", "1"), index.search("networks", 10));
+	}
+
+	@Test
+	void everyTermMustMatchInSomeField() {
+		add("1", "Operating Systems", "a1", "Tanenbaum", "Systems");
+		add("2", "Distributed Systems", "a2", "Steen", "Systems");
+		assertEquals(List.of("1"), index.search("systems tanenbaum", 10));
+		assertEquals(List.of(), index.search("systems knuth", 10));
+	}
+
+	@Test
+	void shortTermsMatchWordPrefixes() {
+		add("1", "Algorithms", "a1", "Sedgewick", "Algorithms");
+		add("2", "Data Structures", "a2", "Weiss", "Data");
+		assertEquals(List.of("1"), index.search("al", 10));
+	}
+
+	@Test
+	void matchingIgnoresCaseAndAccents() {
+		add("1", "Gödel, Escher, Bach", "a1", "Hofstadter", "Philosophy");
+		assertEquals(List.of("1"), index.search("GODEL", 10));
+		assertEquals(List.of("1"), index.search("esch", 10));
+	}
+
+	@Test
+	void followsUpdatesDeletesAndRenames() {
+		Book book = add("1", "Refactoring", "a1", "Fowler", "Design");
+		Book renamed = book("1", "Refactoring Databases", "a1", "Fowler", "Design");
+		index.onBookChanged(BookChangedEvent.updated(book, renamed));
+		assertEquals(List.of("1"), index.search("databases", 10));
+
+		Author author = new Author();
+		author.setId("a1");
+		author.setName("Martin Fowler");
+		index.onAuthorChanged(AuthorChangedEvent.updated("Fowler", author));
+		assertEquals(List.of("1"), index.search("martin", 10));
+
+		index.onBookChanged(BookChangedEvent.deleted(renamed));
+		assertEquals(List.of(), index.search("refactoring", 10));
+	}
+
+	@Test
+	void limitsResults() {
+		for (int i = 0; i < 5; i++) {
+			add(String.valueOf(i), "Java Volume " + i, "a1", "Horstmann", "Java");
+		}
+		assertEquals(2, index.search("java", 2).size());
+		assertEquals(List.of(), index.search("java", 0));
+		assertEquals(List.of(), index.search(" ,. ", 10));
+	}
+
+	private Book add(String id, String title, String authorId, String authorName, String categoryName) {
+		Book book = book(id, title, authorId, authorName, categoryName);
+		index.onBookChanged(BookChangedEvent.created(book));
+		return book;
+	}
+
+	private static Book book(String id, String title, String authorId, String authorName, String categoryName) {
+		Book book = new Book();
+		book.setId(id);
+		book.setTitle(title);
+		book.setAuthorRef(new EntityRef(authorId, authorName));
+		book.setCategoryRef(new EntityRef("c-" + categoryName, categoryName));
+		return book;
+	}
+}
@@ -0,0 +1,90 @@
+package com.kaushik.restapis.bookstore_management.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prefix lookup and top-k ranking of the typeahead trie, including prefixes
+ * longer than the tree is deep.
+ */
+class CompletionTrieTest {
+
+	@Test
+	void findsByStartOfTextOrOfAnySignificantWord() {
+		CompletionTrie trie = new CompletionTrie(10, 16);
+		trie.put("1", "Donald E. Knuth", 1);
+		assertEquals(List.of("1"), ids(trie.complete("don", 10)));
+		assertEquals(List.of("1"), ids(trie.complete("Knu", 10)));
+		assertEquals(List.of(), ids(trie.complete("nuth", 10)));
+	}
+
+	@Test
+	void stopwordsAreNotEntryPoints() {
+		CompletionTrie trie = new CompletionTrie(10, 16);
+		trie.put("1", "The Art of Computer Programming", 1);
+		assertEquals(List.of("1"), ids(trie.complete("the a", 10)));
+		assertEquals(List.of("1"), ids(trie.complete("art", 10)));
+		assertEquals(List.of(), ids(trie.complete("of", 10)));
+	}
+
+	@Test
+	void ranksByWeightThenText() {
+		CompletionTrie trie = new CompletionTrie(10, 16);
+		trie.put("1", "Java Concurrency", 5);
+		trie.put("2", "Java Puzzlers", 9);
+		trie.put("3", "JavaScript Patterns", 5);
+		assertEquals(List.of("2", "1", "3"), ids(trie.complete("java", 10)));
+		assertEquals(List.of("2"), ids(trie.complete("java", 1)));
+	}
+
+	@Test
+	void keepsOnlyTopKPerPrefix() {
+		CompletionTrie trie = new CompletionTrie(3, 16);
+		for (int i = 1; i <= 6; i++) {
+			trie.put(String.valueOf(i), "Python " + i, i);
+		}
+		assertEquals(List.of("6", "5", "4"), ids(trie.complete("py", 10)));
+	}
+
+	@Test
+	void reweightingAndRemovalUpdateEveryPrefix() {
+		CompletionTrie trie = new CompletionTrie(10, 16);
+		trie.put("1", "Clean Code", 1);
+		trie.put("2", "Clean Architecture", 2);
+		trie.put("1", "Clean Code", 3);
+		assertEquals(List.of("1", "2"), ids(trie.complete("cle", 10)));
+		assertEquals(3, trie.get("1").getWeight());
+
+		trie.remove("1");
+		assertEquals(List.of("2"), ids(trie.complete("c", 10)));
+		assertEquals(List.of(), ids(trie.complete("code", 10)));
+		assertNull(trie.get("1"));
+		assertEquals(1, trie.size());
+	}
+
+	@Test
+	void prefixesLongerThanTheTreeAreFiltered() {
+		CompletionTrie trie = new CompletionTrie(10, 4);
+		trie.put("1", "Structure and Interpretation", 1);
+		trie.put("2", "Structured Programming", 2);
+		assertEquals(List.of("2", "1"), ids(trie.complete("stru", 10)));
+		assertEquals(List.of("2"), ids(trie.complete("structured", 10)));
+		assertEquals(List.of("1"), ids(trie.complete("structure and", 10)));
+	}
+
+	@Test
+	void matchingIgnoresCaseAndAccents() {
+		CompletionTrie trie = new CompletionTrie(10, 16);
+		trie.put("1", "Émile Zola", 1);
+		assertEquals(List.of("1"), ids(trie.complete("emi", 10)));
+		assertEquals(List.of(), ids(trie.complete("  ", 10)));
+	}
+
+	private static List<String> ids(List<CompletionTrie.Completion> completions) {
+		return completions.stream().map(CompletionTrie.Completion::getId).toList();
+	}
+}